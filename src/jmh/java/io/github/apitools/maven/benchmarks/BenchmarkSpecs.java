@@ -0,0 +1,27 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.generator.SpecGenerator;
+import io.github.apitools.maven.parsers.SwaggerParser;
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Generated documents shared by the stage benchmarks.
+ */
+final class BenchmarkSpecs {
+
+    private BenchmarkSpecs() {
+    }
+
+    static SpecGenerator generator(int paths, int schemas, int depth) {
+        return SpecGenerator.builder().paths(paths).schemas(schemas).depth(depth).build();
+    }
+
+    /**
+     * The generated document as the converter sees it: parsed, resolved and flattened.
+     */
+    static OpenAPI parsed(int paths, int schemas, int depth) throws Exception {
+        String yaml = generator(paths, schemas, depth).openApiYaml();
+        return (OpenAPI) new SwaggerParser(new SilentLog()).parse(yaml, SpecFormat.OPENAPI_3).getData();
+    }
+}
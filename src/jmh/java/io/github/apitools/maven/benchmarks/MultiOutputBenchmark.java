@@ -0,0 +1,104 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.ApiSpecConverter;
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Several outputs of one source: a full conversion per output against a single parse
+ * shared by all of them, written sequentially or concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiOutputBenchmark {
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    @Param({"50"})
+    public int schemas;
+
+    @Param({"3"})
+    public int depth;
+
+    private Path workDir;
+    private ApiSpecConverter converter;
+    private List<ApiSpecConverter.Target> targets;
+    private ExecutorService pool;
+
+    @Setup
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("multi-output-benchmark");
+        Path source = Files.writeString(workDir.resolve("source.yaml"),
+            BenchmarkSpecs.generator(paths, schemas, depth).openApiYaml());
+
+        converter = new ApiSpecConverter(new SilentLog());
+        targets = new ArrayList<>();
+        for (SpecFormat to : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                ConversionOptions options = ConversionOptions.builder()
+                    .source(source.toString())
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(to)
+                    .syntax(syntax)
+                    .build();
+                targets.add(new ApiSpecConverter.Target(options, workDir.resolve(to + "." + syntax)));
+            }
+        }
+        pool = Executors.newFixedThreadPool(targets.size());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void conversionPerOutput() throws Exception {
+        for (ApiSpecConverter.Target target : targets) {
+            converter.convertTo(target.options(), target.output());
+        }
+    }
+
+    @Benchmark
+    public Object sharedParse() throws Exception {
+        return converter.convertTo(targets, null);
+    }
+
+    @Benchmark
+    public Object sharedParseParallel() throws Exception {
+        return converter.convertTo(targets, pool);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.ParsedSpec;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.converters.ToOpenApiConverter;
+import io.github.apitools.maven.generator.SpecGenerator;
+import io.github.apitools.maven.parsers.SwaggerParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse stage: {@link SwaggerParser#parse} on generated source text, and the
+ * {@link ToOpenApiConverter} step that follows it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseStageBenchmark {
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    @Param({"50"})
+    public int schemas;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"YAML", "JSON"})
+    public OutputSyntax sourceSyntax;
+
+    private SwaggerParser parser;
+    private ToOpenApiConverter toOpenApiConverter;
+    private String source;
+    private ParsedSpec parsedSpec;
+
+    @Setup
+    public void setUp() throws Exception {
+        parser = new SwaggerParser(new SilentLog());
+        toOpenApiConverter = new ToOpenApiConverter(new SilentLog());
+
+        SpecGenerator generator = BenchmarkSpecs.generator(paths, schemas, depth);
+        source = sourceSyntax == OutputSyntax.YAML ? generator.openApiYaml() : generator.openApiJson();
+        parsedSpec = parser.parse(source, SpecFormat.OPENAPI_3);
+    }
+
+    @Benchmark
+    public ParsedSpec parse() throws Exception {
+        return parser.parse(source, SpecFormat.OPENAPI_3);
+    }
+
+    @Benchmark
+    public OpenAPI toOpenApi() {
+        return toOpenApiConverter.convertToOpenAPI(parsedSpec);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.parsers.ParserHolder;
+import io.github.apitools.maven.parsers.SwaggerParser;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-spec parser overhead on a small document, the case of a build converting
+ * hundreds of small specs in one JVM: a new OpenAPIParser and ParseOptions per
+ * call against the shared {@link ParserHolder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserSetupBenchmark {
+
+    private static final String SPEC = """
+        openapi: 3.0.1
+        info:
+          title: Small API
+          version: 1.0.0
+        paths:
+          /items/{id}:
+            get:
+              parameters:
+                - name: id
+                  in: path
+                  required: true
+                  schema:
+                    type: integer
+              responses:
+                '200':
+                  description: OK
+                  content:
+                    application/json:
+                      schema:
+                        $ref: '#/components/schemas/Item'
+        components:
+          schemas:
+            Item:
+              type: object
+              properties:
+                id:
+                  type: integer
+                name:
+                  type: string
+        """;
+
+    private SwaggerParser swaggerParser;
+
+    @Setup
+    public void setUp() {
+        swaggerParser = new SwaggerParser(new SilentLog());
+    }
+
+    @Benchmark
+    public SwaggerParseResult newParserPerSpec() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        return new OpenAPIParser().readContents(SPEC, null, options);
+    }
+
+    @Benchmark
+    public SwaggerParseResult sharedParser() {
+        return ParserHolder.readContents(SPEC, ParserHolder.conversionOptions());
+    }
+
+    @Benchmark
+    public Object swaggerParserParse() throws Exception {
+        return swaggerParser.parse(SPEC, SpecFormat.OPENAPI_3).getData();
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.converters.FromOpenApiConverter;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Swagger 2 conversion of a document whose operations all share the same schema
+ * instances, as happens after the parser flattens inline models. With
+ * {@code sharedSchemas=false} every operation gets its own copy of the schemas: the
+ * output is the same but no converted schema can be reused, which is the baseline
+ * the memoized conversion is measured against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaReuseBenchmark {
+
+    @Param({"500"})
+    public int operations;
+
+    @Param({"40"})
+    public int properties;
+
+    @Param({"true", "false"})
+    public boolean sharedSchemas;
+
+    private FromOpenApiConverter converter;
+    private OpenAPI openAPI;
+    private ConversionOptions options;
+
+    @Setup
+    public void setUp() {
+        converter = new FromOpenApiConverter(new SilentLog());
+        options = ConversionOptions.builder()
+            .source("benchmark.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        Schema<?> item = item();
+        Schema<?> page = page(item);
+
+        Paths paths = new Paths();
+        for (int i = 0; i < operations; i++) {
+            Operation post = new Operation()
+                .operationId("op" + i)
+                .requestBody(new RequestBody().content(json(sharedSchemas ? item : item())))
+                .responses(new ApiResponses()
+                    .addApiResponse("200", new ApiResponse().description("OK")
+                        .content(json(sharedSchemas ? page : page(item()))))
+                    .addApiResponse("201", new ApiResponse().description("Created")
+                        .content(json(sharedSchemas ? item : item()))));
+            paths.addPathItem("/resource" + i, new PathItem().post(post));
+        }
+
+        openAPI = new OpenAPI()
+            .info(new Info().title("Schema reuse").version("1.0.0"))
+            .paths(paths);
+    }
+
+    private Schema<?> item() {
+        Schema<?> item = new ObjectSchema();
+        for (int p = 0; p < properties; p++) {
+            item.addProperty("field" + p, p % 2 == 0
+                ? new StringSchema().maxLength(64).description("Field " + p)
+                : new IntegerSchema().format("int64").description("Field " + p));
+        }
+        return item;
+    }
+
+    private static Schema<?> page(Schema<?> item) {
+        return new ObjectSchema()
+            .addProperty("items", new ArraySchema().items(item))
+            .addProperty("total", new IntegerSchema());
+    }
+
+    private static Content json(Schema<?> schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(schema));
+    }
+
+    @Benchmark
+    public String convertToSwagger2() throws Exception {
+        return converter.convertFromOpenAPI(openAPI, options);
+    }
+}
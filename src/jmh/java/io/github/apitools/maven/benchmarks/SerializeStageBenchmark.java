@@ -0,0 +1,70 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.converters.FromOpenApiConverter;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convert and serialize stage: {@link FromOpenApiConverter#convertFromOpenAPI} for every
+ * target and syntax, writing to a discarding stream so only the converter is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializeStageBenchmark {
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    @Param({"50"})
+    public int schemas;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"SWAGGER_2", "OPENAPI_3"})
+    public SpecFormat target;
+
+    @Param({"JSON", "YAML"})
+    public OutputSyntax syntax;
+
+    private FromOpenApiConverter converter;
+    private OpenAPI openAPI;
+    private ConversionOptions options;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = new FromOpenApiConverter(new SilentLog());
+        openAPI = BenchmarkSpecs.parsed(paths, schemas, depth);
+        options = ConversionOptions.builder()
+            .source("benchmark.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(target)
+            .syntax(syntax)
+            .build();
+    }
+
+    @Benchmark
+    public void fromOpenApi() throws Exception {
+        converter.convertFromOpenAPI(openAPI, options, OutputStream.nullOutputStream());
+    }
+}
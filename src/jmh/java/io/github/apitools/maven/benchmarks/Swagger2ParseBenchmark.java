@@ -0,0 +1,64 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.ParsedSpec;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.generator.SpecGenerator;
+import io.github.apitools.maven.parsers.SwaggerParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Swagger 2.0 sources: the native tree converter against swagger-parser's v2 parser and
+ * converter. Run with the profile's {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Swagger2ParseBenchmark {
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    @Param({"50"})
+    public int schemas;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"YAML", "JSON"})
+    public OutputSyntax sourceSyntax;
+
+    @Param({"true", "false"})
+    public boolean nativeSwagger2;
+
+    private SwaggerParser parser;
+    private String source;
+
+    @Setup
+    public void setUp() {
+        parser = new SwaggerParser(new SilentLog(), nativeSwagger2);
+
+        SpecGenerator generator = BenchmarkSpecs.generator(paths, schemas, depth);
+        source = sourceSyntax == OutputSyntax.YAML ? generator.swagger2Yaml() : generator.swagger2Json();
+    }
+
+    @Benchmark
+    public ParsedSpec parse() throws Exception {
+        return parser.parse(source, SpecFormat.SWAGGER_2);
+    }
+}
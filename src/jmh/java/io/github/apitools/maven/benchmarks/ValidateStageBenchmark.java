@@ -0,0 +1,82 @@
+package io.github.apitools.maven.benchmarks;
+
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.converters.FromOpenApiConverter;
+import io.github.apitools.maven.utils.OpenApiValidator;
+import io.swagger.v3.oas.models.OpenAPI;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation stage: {@link OpenApiValidator} on the trees the converter hands it, and on
+ * the serialized output for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateStageBenchmark {
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    @Param({"50"})
+    public int schemas;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"SWAGGER_2", "OPENAPI_3"})
+    public SpecFormat target;
+
+    private OpenAPI openAPI;
+    private JsonNode swagger2;
+    private String output;
+
+    @Setup
+    public void setUp() throws Exception {
+        FromOpenApiConverter converter = new FromOpenApiConverter(new SilentLog());
+        openAPI = BenchmarkSpecs.parsed(paths, schemas, depth);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source("benchmark.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(target)
+            .syntax(OutputSyntax.YAML)
+            .build();
+        output = converter.convertFromOpenAPI(openAPI, options);
+        if (target == SpecFormat.SWAGGER_2) {
+            swagger2 = converter.convertToSwagger2(openAPI, options, OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public List<String> validateModel() {
+        return target == SpecFormat.SWAGGER_2
+            ? OpenApiValidator.validateSwagger2(swagger2)
+            : OpenApiValidator.validate(openAPI);
+    }
+
+    @Benchmark
+    public List<String> validateText() {
+        return OpenApiValidator.validate(output, target);
+    }
+}
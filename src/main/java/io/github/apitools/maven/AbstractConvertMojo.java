@@ -0,0 +1,326 @@
+package io.github.apitools.maven;
+
+import io.github.apitools.maven.parsers.ModelCache;
+import io.github.apitools.maven.utils.ExternalRefs;
+import io.github.apitools.maven.utils.FingerprintStore;
+import io.github.apitools.maven.utils.FingerprintStore.Fingerprint;
+import io.github.apitools.maven.utils.HttpSpecFetcher;
+import io.github.apitools.maven.utils.MetricsReport;
+import io.github.apitools.maven.utils.WorkerPools;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parameters and helpers shared by the conversion goals.
+ */
+public abstract class AbstractConvertMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    protected MavenProject project;
+
+    @Parameter(property = "from", required = true)
+    protected String from;
+
+    @Parameter(property = "to")
+    protected String to;
+
+    @Parameter(property = "syntax", defaultValue = "json")
+    protected String syntax;
+
+    @Parameter(property = "order", defaultValue = "openapi")
+    protected String order;
+
+    @Parameter(property = "outputDirectory", defaultValue = "${project.build.directory}/generated-sources/api-spec")
+    protected File outputDirectory;
+
+    @Parameter(property = "validate", defaultValue = "false")
+    protected boolean validate;
+
+    @Parameter(property = "fillMissing", defaultValue = "false")
+    protected boolean fillMissing;
+
+    @Parameter(property = "deterministic", defaultValue = "false")
+    protected boolean deterministic;
+
+    @Parameter(property = "resolve", defaultValue = "true")
+    protected boolean resolve;
+
+    @Parameter(property = "flatten", defaultValue = "true")
+    protected boolean flatten;
+
+    @Parameter(property = "skip", defaultValue = "false")
+    protected boolean skip;
+
+    @Parameter(property = "incremental", defaultValue = "true")
+    protected boolean incremental;
+
+    @Parameter(property = "fingerprintFile", defaultValue = "${project.build.directory}/api-spec-converter/fingerprints.properties")
+    protected File fingerprintFile;
+
+    @Parameter(property = "api-spec-converter.metrics", defaultValue = "false")
+    protected boolean metrics;
+
+    @Parameter(property = "api-spec-converter.modelCacheSize", defaultValue = "8")
+    protected int modelCacheSize;
+
+    @Parameter(property = "api-spec-converter.parallelism", defaultValue = "1")
+    protected int parallelism;
+
+    @Parameter(property = "api-spec-converter.httpCache", defaultValue = "true")
+    protected boolean httpCache;
+
+    @Parameter(property = "api-spec-converter.httpCacheDirectory", defaultValue = "${settings.localRepository}/.cache/api-spec-converter")
+    protected File httpCacheDirectory;
+
+    @Parameter(property = "api-spec-converter.offline", defaultValue = "${settings.offline}")
+    protected boolean offline;
+
+    @Parameter(property = "api-spec-converter.metricsReport", defaultValue = "false")
+    protected boolean metricsReport;
+
+    @Parameter(property = "api-spec-converter.metricsFile", defaultValue = "${project.build.directory}/api-spec-converter/metrics.json")
+    protected File metricsFile;
+
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    protected PluginDescriptor plugin;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+    protected MojoExecution mojoExecution;
+
+    @Parameter(defaultValue = "${session}", readonly = true)
+    protected MavenSession session;
+
+    private final Map<String, Optional<String>> sourceHashes = new ConcurrentHashMap<>();
+
+    protected void validateFormats() throws MojoExecutionException {
+        validateSourceFormat();
+
+        if (to == null || to.trim().isEmpty()) {
+            throw new MojoExecutionException("The 'to' parameter is required");
+        }
+        validateTargetFormats(to, syntax, order);
+    }
+
+    protected void validateSourceFormat() throws MojoExecutionException {
+        if (!SpecFormat.isSupported(from)) {
+            throw new MojoExecutionException("Unsupported source format: " + from +
+                ". Supported formats: " + SpecFormat.getSupportedFormats());
+        }
+    }
+
+    protected void validateTargetFormats(String to, String syntax, String order) throws MojoExecutionException {
+        if (!SpecFormat.isSupported(to)) {
+            throw new MojoExecutionException("Unsupported target format: " + to +
+                ". Supported formats: " + SpecFormat.getSupportedFormats());
+        }
+
+        if (!OutputSyntax.isSupported(syntax)) {
+            throw new MojoExecutionException("Unsupported output syntax: " + syntax +
+                ". Supported syntaxes: json, yaml");
+        }
+
+        if (!FieldOrder.isSupported(order)) {
+            throw new MojoExecutionException("Unsupported field order: " + order +
+                ". Supported orders: openapi, alpha");
+        }
+    }
+
+    protected ConversionOptions buildOptions(String source) {
+        return buildOptions(source, to, syntax, order);
+    }
+
+    protected ConversionOptions buildOptions(String source, String to, String syntax, String order) {
+        return ConversionOptions.builder()
+            .source(source)
+            .from(SpecFormat.fromString(from))
+            .to(SpecFormat.fromString(to))
+            .syntax(OutputSyntax.fromString(syntax))
+            .order(FieldOrder.fromString(order))
+            .validate(validate)
+            .fillMissing(fillMissing)
+            .deterministic(deterministic)
+            .resolve(resolve)
+            .flatten(flatten)
+            .parallelism(parallelism)
+            .sourceHash(fingerprintsEnabled() ? sourceHash(source) : null)
+            .build();
+    }
+
+    /**
+     * Creates the converter for this execution. Parsed models are shared through the
+     * classloader-wide model cache unless {@code modelCacheSize} is 0; the size configured
+     * by the latest execution applies to the whole build. URL sources go through the
+     * HTTP cache unless it is disabled. Parallel conversions run on {@code conversionPool},
+     * see {@link #newConversionPool()}.
+     */
+    protected ApiSpecConverter newConverter(ForkJoinPool conversionPool) {
+        Path cacheDirectory = httpCache && httpCacheDirectory != null ? httpCacheDirectory.toPath() : null;
+        HttpSpecFetcher httpFetcher = new HttpSpecFetcher(getLog(), cacheDirectory, offline);
+
+        if (modelCacheSize <= 0) {
+            return new ApiSpecConverter(getLog(), null, httpFetcher, conversionPool);
+        }
+        ModelCache cache = ModelCache.shared();
+        cache.setMaxEntries(modelCacheSize);
+        return new ApiSpecConverter(getLog(), cache, httpFetcher, conversionPool);
+    }
+
+    /**
+     * Creates the pool shared by all parallel conversions of this execution, sized by
+     * {@code parallelism}, or returns null when conversions are serial. The caller shuts
+     * it down once the execution is over.
+     */
+    protected ForkJoinPool newConversionPool() {
+        int size = WorkerPools.effectiveSize(parallelism, Integer.MAX_VALUE);
+        return size > 1 ? new ForkJoinPool(size) : null;
+    }
+
+    /**
+     * Opens the fingerprint store, or returns null when incremental conversion is disabled.
+     */
+    protected FingerprintStore openFingerprintStore() throws IOException {
+        if (!fingerprintsEnabled()) {
+            return null;
+        }
+        return FingerprintStore.load(fingerprintFile.toPath());
+    }
+
+    private boolean fingerprintsEnabled() {
+        return incremental && fingerprintFile != null;
+    }
+
+    /**
+     * Returns the hash of a source file and the local files it pulls in through external
+     * references, or null when the source cannot be hashed without fetching it (URL sources
+     * and sources that reference remote documents) or does not exist. Each source is hashed
+     * once per execution, however many outputs it has.
+     */
+    protected String sourceHash(String source) {
+        return sourceHashes.computeIfAbsent(source, key -> {
+            Path sourcePath = Paths.get(key);
+            if (ApiSpecConverter.isUrl(key) || !Files.isRegularFile(sourcePath)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(ExternalRefs.hash(sourcePath));
+            } catch (IOException e) {
+                getLog().debug("Unable to hash " + key + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Computes the fingerprint of a conversion from the source hash its options carry,
+     * see {@link #sourceHash(String)}, or returns null when they carry none.
+     */
+    protected Fingerprint fingerprint(ConversionOptions options) {
+        if (options.getSourceHash() == null) {
+            return null;
+        }
+        String pluginVersion = plugin != null ? plugin.getVersion() : "unknown";
+        return new Fingerprint(
+            options.getSourceHash(),
+            FingerprintStore.sha256(options.fingerprint()),
+            pluginVersion);
+    }
+
+    /**
+     * Prints the per-stage metrics of a conversion when {@code api-spec-converter.metrics} is set.
+     * The table is logged as one block so concurrent conversions do not interleave.
+     */
+    protected void logMetrics(String label, ConversionResult result) {
+        if (!metrics || result.metrics() == null) {
+            return;
+        }
+        synchronized (getLog()) {
+            getLog().info("Conversion metrics for " + label + ":");
+            for (String line : result.metrics().toTable()) {
+                getLog().info("  " + line);
+            }
+        }
+    }
+
+    /**
+     * Starts the metrics report of this execution, or returns null when it is disabled.
+     */
+    protected MetricsReport openMetricsReport() {
+        if (!metricsReport || metricsFile == null) {
+            return null;
+        }
+        Instant buildStarted = session != null && session.getRequest().getStartTime() != null
+            ? session.getRequest().getStartTime().toInstant()
+            : Instant.now();
+        return new MetricsReport(metricsFile.toPath(), buildStarted);
+    }
+
+    /**
+     * Writes the metrics report. A report that cannot be written never fails the build.
+     */
+    protected void writeMetricsReport(MetricsReport report) {
+        if (report == null) {
+            return;
+        }
+
+        Map<String, String> execution = new LinkedHashMap<>();
+        execution.put("pluginVersion", plugin != null ? plugin.getVersion() : "unknown");
+        if (project != null) {
+            execution.put("project", project.getGroupId() + ":" + project.getArtifactId());
+        }
+        if (mojoExecution != null) {
+            execution.put("goal", mojoExecution.getGoal());
+            execution.put("executionId", mojoExecution.getExecutionId());
+        }
+
+        try {
+            report.write(execution);
+            getLog().debug("Metrics report written to: " + report.getFile().toAbsolutePath());
+        } catch (IOException e) {
+            getLog().warn("Unable to write the metrics report: " + e.getMessage());
+        }
+    }
+
+    protected String generateFileName(String source) {
+        return generateFileName(source, to, syntax);
+    }
+
+    protected String generateFileName(String source, String to, String syntax) {
+        String baseName = extractBaseName(source);
+        String extension = syntax.equals("yaml") ? "yaml" : "json";
+        return baseName + "_" + to + "." + extension;
+    }
+
+    private String extractBaseName(String source) {
+        String fileName = source;
+        if (source.contains("/")) {
+            fileName = source.substring(source.lastIndexOf("/") + 1);
+        }
+        if (source.contains("\\")) {
+            fileName = fileName.substring(fileName.lastIndexOf("\\") + 1);
+        }
+
+        int dotIndex = fileName.lastIndexOf(".");
+        if (dotIndex > 0) {
+            fileName = fileName.substring(0, dotIndex);
+        }
+
+        return fileName.isEmpty() ? "converted_spec" : fileName;
+    }
+}
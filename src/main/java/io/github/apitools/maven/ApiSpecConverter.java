@@ -1,31 +1,53 @@
 package io.github.apitools.maven;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.github.apitools.maven.ConversionMetrics.StageTimer;
 import io.github.apitools.maven.converters.FromOpenApiConverter;
 import io.github.apitools.maven.converters.ToOpenApiConverter;
+import io.github.apitools.maven.parsers.ModelCache;
+import io.github.apitools.maven.parsers.ParserHolder;
 import io.github.apitools.maven.parsers.SwaggerParser;
+import io.github.apitools.maven.utils.ExternalRefs;
+import io.github.apitools.maven.utils.HttpSpecFetcher;
+import io.github.apitools.maven.utils.IfChangedOutputStream;
 import io.github.apitools.maven.utils.OpenApiFieldFiller;
 import io.github.apitools.maven.utils.OpenApiValidator;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.maven.plugin.logging.Log;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.time.Duration;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Main converter that coordinates the various specialized implementations.
+ * A single instance can run several conversions concurrently.
  */
 public class ApiSpecConverter {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     private final Log log;
-    private final HttpClient httpClient;
+    private final HttpSpecFetcher httpFetcher;
+    private final ModelCache modelCache;
 
     // Parsers
     private final SwaggerParser swaggerParser;
@@ -35,107 +57,386 @@ public class ApiSpecConverter {
     private final FromOpenApiConverter fromOpenApiConverter;
 
     public ApiSpecConverter(Log log) {
+        this(log, null);
+    }
+
+    /**
+     * Creates a converter that reuses parsed models from {@code modelCache}, or parses
+     * every source when it is null.
+     */
+    public ApiSpecConverter(Log log, ModelCache modelCache) {
+        this(log, modelCache, new HttpSpecFetcher(log, null, false));
+    }
+
+    /**
+     * Creates a converter that reads URL sources through {@code httpFetcher}, which may
+     * keep them in an on-disk HTTP cache.
+     */
+    public ApiSpecConverter(Log log, ModelCache modelCache, HttpSpecFetcher httpFetcher) {
+        this(log, modelCache, httpFetcher, null);
+    }
+
+    /**
+     * Creates a converter that runs the parallel parts of its conversions on
+     * {@code conversionPool}, see {@link ConversionOptions#getParallelism()}. The pool is
+     * shared by concurrent conversions and owned by the caller; when it is null every
+     * parallel conversion creates its own.
+     */
+    public ApiSpecConverter(Log log, ModelCache modelCache, HttpSpecFetcher httpFetcher, ForkJoinPool conversionPool) {
         this.log = log;
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(30))
-            .build();
+        this.modelCache = modelCache;
+        this.httpFetcher = httpFetcher;
 
         // Initialize parsers
         this.swaggerParser = new SwaggerParser(log);
 
         // Initialize converters
         this.toOpenApiConverter = new ToOpenApiConverter(log);
-        this.fromOpenApiConverter = new FromOpenApiConverter(log);
+        this.fromOpenApiConverter = new FromOpenApiConverter(log, conversionPool);
     }
 
     /**
      * Converts an API specification from one format to another.
      */
     public ConversionResult convert(ConversionOptions options) throws Exception {
-        log.info("Starting conversion from " + options.getFrom() + " to " + options.getTo());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ConversionMetrics.Builder metrics = ConversionMetrics.builder();
+        List<String> warnings = writeConverted(options, buffer, metrics);
+        return new ConversionResult(buffer.toString(StandardCharsets.UTF_8), warnings, metrics.build());
+    }
+
+    /**
+     * Converts an API specification and writes it to {@code out} while it is serialized.
+     * The returned result carries the warnings and metrics only; the stream is flushed but not closed.
+     */
+    public ConversionResult convertTo(ConversionOptions options, OutputStream out) throws Exception {
+        ConversionMetrics.Builder metrics = ConversionMetrics.builder();
+        List<String> warnings = writeConverted(options, out, metrics);
+        return new ConversionResult(null, warnings, metrics.build());
+    }
 
-        // Read source content
-        String sourceContent = readSource(options.getSource());
-        log.debug("Source content read: " + sourceContent.length() + " characters");
+    /**
+     * Converts an API specification straight into the file at {@code output}, creating
+     * parent directories as needed. If the conversion fails the file is left as it was.
+     */
+    public ConversionResult convertTo(ConversionOptions options, Path output) throws Exception {
+        return writeFile(output, out -> convertTo(options, out));
+    }
 
-        // Parse source format
-        ParsedSpec parsedSpec = parseSource(sourceContent, options.getFrom());
+    /**
+     * One output of {@link #convertTo(List, ExecutorService)}: the target format, syntax and
+     * order come from {@code options}, the file to write from {@code output}.
+     */
+    public record Target(ConversionOptions options, Path output) {
+    }
 
-        // Convert to target format
-        String convertedContent = convertToTarget(parsedSpec, options);
+    /**
+     * Outcome of one target of {@link #convertEach}: its result, or the exception that
+     * made it fail.
+     */
+    public record TargetResult(Target target, ConversionResult result, Exception failure) {
 
-        // Validate if requested
-        List<String> warnings = new ArrayList<>();
-        if (options.isValidate()) {
-            warnings.addAll(OpenApiValidator.validate(convertedContent, options.getTo()));
+        public boolean failed() {
+            return failure != null;
         }
+    }
 
-        return new ConversionResult(convertedContent, warnings);
+    /**
+     * Reads and parses the source once and writes every target from the same model, like
+     * {@link #convertEach}, but rethrows the first failure once all targets have finished.
+     */
+    public List<ConversionResult> convertTo(List<Target> targets, ExecutorService executor) throws Exception {
+        List<ConversionResult> results = new ArrayList<>();
+        for (TargetResult outcome : convertEach(targets, executor)) {
+            if (outcome.failed()) {
+                throw outcome.failure();
+            }
+            results.add(outcome.result());
+        }
+        return results;
     }
 
-    private String readSource(String source) throws IOException, InterruptedException {
-        if (isUrl(source)) {
-            return readFromUrl(source);
+    /**
+     * Reads and parses the source once and writes every target from the same model.
+     * All targets must share the source and source format. Targets are written one after
+     * the other, or concurrently on {@code executor} when it is not null; a failed target
+     * does not stop the others and is reported in its own {@link TargetResult}, in target
+     * order. Failing to read or parse the source fails them all and is thrown.
+     * The metrics of every result include the shared read and parse stages.
+     */
+    public List<TargetResult> convertEach(List<Target> targets, ExecutorService executor) throws Exception {
+        if (targets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ConversionOptions first = targets.get(0).options();
+        for (Target target : targets) {
+            if (!Objects.equals(target.options().getSource(), first.getSource())
+                    || target.options().getFrom() != first.getFrom()) {
+                throw new IllegalArgumentException("All targets must share source and source format: " +
+                    target.options().getSource() + " (" + target.options().getFrom() + ")");
+            }
+            if (target.options().isResolve() != first.isResolve() || target.options().isFlatten() != first.isFlatten()) {
+                throw new IllegalArgumentException("All targets must share resolve and flatten: " +
+                    target.options().getSource());
+            }
+        }
+
+        log.info("Starting conversion from " + first.getFrom() + " to " + targets.size() + " targets");
+        ConversionMetrics.Builder readMetrics = ConversionMetrics.builder();
+        ParsedSpec parsedSpec = readParsed(first, readMetrics);
+        ConversionMetrics shared = readMetrics.build();
+
+        List<Callable<ConversionResult>> tasks = new ArrayList<>();
+        for (Target target : targets) {
+            tasks.add(() -> writeFile(target.output(), out -> {
+                ConversionMetrics.Builder metrics = ConversionMetrics.builder(shared);
+                List<String> warnings = writeTarget(parsedSpec, target.options(), out, metrics);
+                return new ConversionResult(null, warnings, metrics.build());
+            }));
+        }
+
+        List<TargetResult> outcomes = new ArrayList<>();
+        if (executor == null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    outcomes.add(new TargetResult(targets.get(i), tasks.get(i).call(), null));
+                } catch (Exception e) {
+                    outcomes.add(new TargetResult(targets.get(i), null, e));
+                }
+            }
         } else {
-            return readFromFile(source);
+            List<Future<ConversionResult>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    outcomes.add(new TargetResult(targets.get(i), futures.get(i).get(), null));
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    Exception failure = cause instanceof Exception exception ? exception : new ExecutionException(cause);
+                    outcomes.add(new TargetResult(targets.get(i), null, failure));
+                }
+            }
         }
+        return outcomes;
     }
 
-    private boolean isUrl(String source) {
-        return source.startsWith("http://") || source.startsWith("https://");
+    @FunctionalInterface
+    private interface OutputWriter<T> {
+        T write(OutputStream out) throws Exception;
     }
 
-    private String readFromUrl(String url) throws IOException, InterruptedException {
-        log.info("Reading from URL: " + url);
+    /**
+     * Writes {@code output} through {@code writer}, creating parent directories as needed.
+     * The file is only replaced, atomically, when the new content differs from the current
+     * one, so an unchanged output keeps its timestamp. If {@code writer} fails the existing
+     * output is left as it was.
+     */
+    private <T> T writeFile(Path output, OutputWriter<T> writer) throws Exception {
+        Path parentDir = output.toAbsolutePath().getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
 
-        HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .timeout(Duration.ofSeconds(30))
-            .GET()
-            .build();
+        IfChangedOutputStream file = new IfChangedOutputStream(output);
+        try {
+            OutputStream out = new BufferedOutputStream(file, WRITE_BUFFER_SIZE);
+            T result = writer.write(out);
+            out.flush();
+            if (!file.commit()) {
+                log.info("Output unchanged, not rewritten: " + output);
+            }
+            return result;
+        } catch (Exception e) {
+            file.discard();
+            throw e;
+        }
+    }
 
-        HttpResponse<String> response = httpClient.send(request,
-            HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    private List<String> writeConverted(ConversionOptions options, OutputStream out,
+                                        ConversionMetrics.Builder metrics) throws Exception {
+        log.info("Starting conversion from " + options.getFrom() + " to " + options.getTo());
 
-        if (response.statusCode() != 200) {
-            throw new IOException("HTTP error " + response.statusCode() +
-                " while reading from " + url);
+        ParsedSpec parsedSpec = readParsed(options, metrics);
+        return writeTarget(parsedSpec, options, out, metrics);
+    }
+
+    private ParsedSpec readParsed(ConversionOptions options, ConversionMetrics.Builder metrics) throws Exception {
+        return modelCache != null
+            ? readCachedSource(options, metrics)
+            : readSource(options, metrics);
+    }
+
+    private List<String> writeTarget(ParsedSpec parsedSpec, ConversionOptions options, OutputStream out,
+                                     ConversionMetrics.Builder metrics) throws Exception {
+        CountingOutputStream target = new CountingOutputStream(out);
+        List<String> warnings = convertToTarget(parsedSpec, options, target, metrics);
+        metrics.outputBytes(target.getByteCount());
+        return warnings;
+    }
+
+    private ParsedSpec readSource(ConversionOptions options, ConversionMetrics.Builder metrics) throws Exception {
+        return readSource(openSource(options.getSource(), metrics), options, metrics);
+    }
+
+    private ParsedSpec readSource(InputStream sourceStream, ConversionOptions options,
+                                  ConversionMetrics.Builder metrics) throws Exception {
+        // Parse source format straight from the source stream, counting bytes below the
+        // buffer so the parser peeking at the first byte does not count it twice
+        CountingInputStream source = new CountingInputStream(sourceStream);
+        try (InputStream in = new BufferedInputStream(source, READ_BUFFER_SIZE)) {
+            ParsedSpec parsedSpec = parseSource(in, options, metrics);
+            log.debug("Source content read: " + source.getByteCount() + " bytes");
+            metrics.inputBytes(source.getByteCount());
+            return parsedSpec;
+        }
+    }
+
+    /**
+     * Looks the source up in the model cache by the hash of its content and of the local
+     * files it references, and parses it only on a miss. Files are hashed as streams, or
+     * not at all when the options carry the hash. URL sources are hashed and parsed from
+     * their copy in the HTTP cache and bypass the model cache without one, as do sources
+     * that reference remote documents.
+     */
+    private ParsedSpec readCachedSource(ConversionOptions options, ConversionMetrics.Builder metrics) throws Exception {
+        String source = options.getSource();
+        Path path;
+        String sourceHash = null;
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.READ)) {
+            path = isUrl(source) ? httpFetcher.fetch(source) : sourcePath(source);
+            if (path != null) {
+                sourceHash = options.getSourceHash() != null ? options.getSourceHash() : ExternalRefs.hash(path);
+            }
+        }
+
+        if (sourceHash == null) {
+            log.debug("Source cannot be hashed without fetching it, not cached: " + source);
+            return path != null ? readUncached(path, options, metrics) : readSource(options, metrics);
+        }
+
+        ModelCache.Key key = ModelCache.Key.of(sourceHash, options.getFrom(), parseOptions(options));
+        OpenAPI cached = modelCache.get(key);
+        if (cached != null) {
+            log.debug("Parsed model found in cache for " + source);
+            metrics.inputBytes(Files.size(path)).cacheHit(true);
+            return new ParsedSpec(options.getFrom(), cached);
+        }
+
+        ParsedSpec parsedSpec = readUncached(path, options, metrics);
+        if (parsedSpec.getData() instanceof OpenAPI openAPI) {
+            modelCache.put(key, openAPI);
         }
+        return parsedSpec;
+    }
 
-        return response.body();
+    /**
+     * Parses a source file, or the cached copy of a URL source without fetching it again.
+     */
+    private ParsedSpec readUncached(Path path, ConversionOptions options, ConversionMetrics.Builder metrics)
+            throws Exception {
+        if (!isUrl(options.getSource())) {
+            return readSource(options, metrics);
+        }
+        InputStream in;
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.READ)) {
+            in = Files.newInputStream(path);
+        }
+        return readSource(in, options, metrics);
     }
 
-    private String readFromFile(String filePath) throws IOException {
+    private InputStream openSource(String source, ConversionMetrics.Builder metrics)
+            throws IOException, InterruptedException {
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.READ)) {
+            return openSource(source);
+        }
+    }
+
+    private InputStream openSource(String source) throws IOException, InterruptedException {
+        if (isUrl(source)) {
+            return openUrl(source);
+        } else {
+            return openFile(source);
+        }
+    }
+
+    static boolean isUrl(String source) {
+        return source.startsWith("http://") || source.startsWith("https://");
+    }
+
+    private InputStream openUrl(String url) throws IOException, InterruptedException {
+        return httpFetcher.open(url);
+    }
+
+    private InputStream openFile(String filePath) throws IOException {
         log.info("Reading from file: " + filePath);
 
-        java.nio.file.Path path = java.nio.file.Paths.get(filePath);
+        Path path = sourcePath(filePath);
+        log.debug("Source file size: " + Files.size(path) + " bytes");
+        return Files.newInputStream(path);
+    }
+
+    private static Path sourcePath(String filePath) throws IOException {
+        Path path = java.nio.file.Paths.get(filePath);
         if (!Files.exists(path)) {
             throw new IOException("File not found: " + filePath);
         }
-
-        return Files.readString(path, StandardCharsets.UTF_8);
+        return path;
     }
 
-    private ParsedSpec parseSource(String content, SpecFormat format) throws Exception {
+    private ParsedSpec parseSource(InputStream in, ConversionOptions options, ConversionMetrics.Builder metrics)
+            throws Exception {
+        SpecFormat format = options.getFrom();
         log.info("Parsing format: " + format);
 
         return switch (format) {
-            case SWAGGER_2, OPENAPI_3 -> swaggerParser.parse(content, format);
+            case SWAGGER_2, OPENAPI_3 -> swaggerParser.parseStream(in, format, parseOptions(options), metrics);
         };
     }
 
-    private String convertToTarget(ParsedSpec parsedSpec, ConversionOptions options) throws Exception {
+    private static ParseOptions parseOptions(ConversionOptions options) {
+        return ParserHolder.conversionOptions(options.isResolve(), options.isFlatten());
+    }
+
+    private List<String> convertToTarget(ParsedSpec parsedSpec, ConversionOptions options, OutputStream out,
+                                         ConversionMetrics.Builder metrics) throws Exception {
         log.info("Converting to format: " + options.getTo());
 
         // Convert everything to OpenAPI first
-        OpenAPI openAPI = toOpenApiConverter.convertToOpenAPI(parsedSpec);
+        OpenAPI openAPI;
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.CONVERT)) {
+            openAPI = toOpenApiConverter.convertToOpenAPI(parsedSpec);
 
-        // Apply missing fields if requested
-        if (options.isFillMissing()) {
-            OpenApiFieldFiller.fillMissingFields(openAPI);
+            // Apply missing fields if requested, on a copy: the model may be shared through the cache
+            if (options.isFillMissing()) {
+                openAPI = OpenApiFieldFiller.withMissingFields(openAPI);
+            }
         }
+        metrics.model(openAPI);
 
         // Then convert from OpenAPI to target format
-        return fromOpenApiConverter.convertFromOpenAPI(openAPI, options);
+        if (!options.isValidate()) {
+            try (StageTimer timer = metrics.time(ConversionMetrics.Stage.SERIALIZE)) {
+                fromOpenApiConverter.convertFromOpenAPI(openAPI, options, out);
+            }
+            return new ArrayList<>();
+        }
+
+        // Validate trees of the output rather than parsing its text again. Both hold the whole
+        // document, so validation gives up the memory bound of streaming the output
+        if (options.getTo() == SpecFormat.SWAGGER_2) {
+            JsonNode swagger;
+            try (StageTimer timer = metrics.time(ConversionMetrics.Stage.SERIALIZE)) {
+                swagger = fromOpenApiConverter.convertToSwagger2(openAPI, options, out);
+            }
+            try (StageTimer timer = metrics.time(ConversionMetrics.Stage.VALIDATE)) {
+                return OpenApiValidator.validateSwagger2(swagger);
+            }
+        }
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.SERIALIZE)) {
+            fromOpenApiConverter.convertFromOpenAPI(openAPI, options, out);
+        }
+        try (StageTimer timer = metrics.time(ConversionMetrics.Stage.VALIDATE)) {
+            return OpenApiValidator.validate(openAPI);
+        }
     }
 }
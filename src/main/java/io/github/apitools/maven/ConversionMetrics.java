@@ -0,0 +1,229 @@
+package io.github.apitools.maven;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Numbers collected while running one conversion: wall time and allocated bytes per
+ * stage, input and output sizes, and the size of the converted model.
+ * Allocated bytes are -1 when the JVM cannot measure them. They are measured on the
+ * thread running the conversion only: with a parallelism above 1, the allocations of the
+ * pool threads converting and serializing parts of the document are not included.
+ */
+public class ConversionMetrics {
+
+    /**
+     * Conversion stages. Conversion to Swagger 2 is streamed section by section while
+     * the output is written, so it is counted as {@link #SERIALIZE}.
+     */
+    public enum Stage {
+        READ("read"),
+        PARSE("parse"),
+        FLATTEN("flatten"),
+        CONVERT("convert"),
+        SERIALIZE("serialize"),
+        VALIDATE("validate");
+
+        private final String value;
+
+        Stage(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    public record StageMetrics(long wallNanos, long allocatedBytes) {
+
+        StageMetrics plus(long nanos, long bytes) {
+            long allocated = allocatedBytes < 0 || bytes < 0 ? -1 : allocatedBytes + bytes;
+            return new StageMetrics(wallNanos + nanos, allocated);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private final Map<Stage, StageMetrics> stages = new EnumMap<>(Stage.class);
+    private long inputBytes;
+    private long outputBytes;
+    private int pathCount;
+    private int operationCount;
+    private int schemaCount;
+    private boolean cacheHit;
+
+    private ConversionMetrics() {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts from the stages, input size and cache status already recorded in {@code shared},
+     * for outputs that reuse one read and parse.
+     */
+    public static Builder builder(ConversionMetrics shared) {
+        Builder builder = new Builder();
+        builder.metrics.stages.putAll(shared.stages);
+        builder.metrics.inputBytes = shared.inputBytes;
+        builder.metrics.cacheHit = shared.cacheHit;
+        return builder;
+    }
+
+    /**
+     * Collects the metrics of a single conversion. Stages are timed on the calling
+     * thread; a stage timed more than once is summed.
+     */
+    public static class Builder {
+        private ConversionMetrics metrics = new ConversionMetrics();
+
+        /**
+         * Starts timing {@code stage} until the returned timer is closed.
+         */
+        public StageTimer time(Stage stage) {
+            return new StageTimer(this, stage);
+        }
+
+        public Builder stage(Stage stage, long wallNanos, long allocatedBytes) {
+            metrics.stages.merge(stage, new StageMetrics(wallNanos, allocatedBytes),
+                (previous, added) -> previous.plus(added.wallNanos(), added.allocatedBytes()));
+            return this;
+        }
+
+        public Builder inputBytes(long inputBytes) {
+            metrics.inputBytes = inputBytes;
+            return this;
+        }
+
+        public Builder outputBytes(long outputBytes) {
+            metrics.outputBytes = outputBytes;
+            return this;
+        }
+
+        /**
+         * Marks the parsed model as taken from the model cache.
+         */
+        public Builder cacheHit(boolean cacheHit) {
+            metrics.cacheHit = cacheHit;
+            return this;
+        }
+
+        /**
+         * Records the number of paths, operations and component schemas of {@code openAPI}.
+         */
+        public Builder model(OpenAPI openAPI) {
+            int operations = 0;
+            if (openAPI.getPaths() != null) {
+                for (PathItem pathItem : openAPI.getPaths().values()) {
+                    operations += pathItem.readOperations().size();
+                }
+                metrics.pathCount = openAPI.getPaths().size();
+            }
+            metrics.operationCount = operations;
+            metrics.schemaCount = openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null
+                ? openAPI.getComponents().getSchemas().size() : 0;
+            return this;
+        }
+
+        public ConversionMetrics build() {
+            return metrics;
+        }
+    }
+
+    /**
+     * Times one stage from its creation until {@link #close()}.
+     */
+    public static class StageTimer implements AutoCloseable {
+        private final Builder builder;
+        private final Stage stage;
+        private final long startNanos;
+        private final long startAllocated;
+
+        private StageTimer(Builder builder, Stage stage) {
+            this.builder = builder;
+            this.stage = stage;
+            this.startAllocated = currentThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = startAllocated < 0 ? -1 : currentThreadAllocatedBytes() - startAllocated;
+            builder.stage(stage, elapsed, allocated);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError | SecurityException e) {
+            // Not a HotSpot-compatible JVM: allocations are reported as unavailable
+        }
+        return null;
+    }
+
+    static long currentThreadAllocatedBytes() {
+        return ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    // Getters
+    public Map<Stage, StageMetrics> getStages() { return Collections.unmodifiableMap(stages); }
+    public StageMetrics getStage(Stage stage) { return stages.get(stage); }
+    public long getInputBytes() { return inputBytes; }
+    public long getOutputBytes() { return outputBytes; }
+    public int getPathCount() { return pathCount; }
+    public int getOperationCount() { return operationCount; }
+    public int getSchemaCount() { return schemaCount; }
+    public boolean isCacheHit() { return cacheHit; }
+
+    public long getTotalNanos() {
+        return stages.values().stream().mapToLong(StageMetrics::wallNanos).sum();
+    }
+
+    /**
+     * Renders the metrics as a fixed-width summary table, one line per element.
+     */
+    public List<String> toTable() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-10s %12s %14s", "Stage", "Time (ms)", "Allocated"));
+        long totalAllocated = 0;
+        for (Map.Entry<Stage, StageMetrics> entry : stages.entrySet()) {
+            StageMetrics stage = entry.getValue();
+            lines.add(row(entry.getKey().getValue(), stage.wallNanos(), stage.allocatedBytes()));
+            totalAllocated = totalAllocated < 0 || stage.allocatedBytes() < 0 ? -1 : totalAllocated + stage.allocatedBytes();
+        }
+        lines.add(row("total", getTotalNanos(), totalAllocated));
+        lines.add("Input: " + formatBytes(inputBytes) + ", output: " + formatBytes(outputBytes));
+        lines.add("Model: " + pathCount + " paths, " + operationCount + " operations, " + schemaCount + " schemas" +
+            (cacheHit ? " (from cache)" : ""));
+        return lines;
+    }
+
+    private static String row(String name, long nanos, long allocatedBytes) {
+        return String.format(Locale.ROOT, "%-10s %12.1f %14s", name, nanos / 1_000_000.0,
+            allocatedBytes < 0 ? "n/a" : formatBytes(allocatedBytes));
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
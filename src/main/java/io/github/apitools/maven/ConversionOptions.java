@@ -8,6 +8,11 @@ public class ConversionOptions {
     private FieldOrder order;
     private boolean validate;
     private boolean fillMissing;
+    private boolean deterministic;
+    private boolean resolve = true;
+    private boolean flatten = true;
+    private int parallelism = 1;
+    private String sourceHash;
 
     private ConversionOptions() {}
 
@@ -53,6 +58,52 @@ public class ConversionOptions {
             return this;
         }
 
+        /**
+         * Writes byte-identical output for the same API: sorted keys, canonical numbers
+         * and LF line endings.
+         */
+        public Builder deterministic(boolean deterministic) {
+            options.deterministic = deterministic;
+            return this;
+        }
+
+        /**
+         * Resolves references while parsing the source: external documents are loaded and
+         * referenced parameters, request bodies and responses are inlined. When disabled
+         * the converter looks up the local references it actually follows, on demand.
+         */
+        public Builder resolve(boolean resolve) {
+            options.resolve = resolve;
+            return this;
+        }
+
+        /**
+         * Moves inline object schemas of the source into named component schemas while parsing.
+         */
+        public Builder flatten(boolean flatten) {
+            options.flatten = flatten;
+            return this;
+        }
+
+        /**
+         * Number of threads converting a single document: 1 converts serially, 0 or less
+         * uses every available processor. The output does not depend on it.
+         */
+        public Builder parallelism(int parallelism) {
+            options.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Hash of the source and the files it references, as computed by
+         * {@link io.github.apitools.maven.utils.ExternalRefs#hash}, when the caller already
+         * has it. The converter computes it when needed otherwise.
+         */
+        public Builder sourceHash(String sourceHash) {
+            options.sourceHash = sourceHash;
+            return this;
+        }
+
         public ConversionOptions build() {
             return options;
         }
@@ -66,4 +117,25 @@ public class ConversionOptions {
     public FieldOrder getOrder() { return order; }
     public boolean isValidate() { return validate; }
     public boolean isFillMissing() { return fillMissing; }
+    public boolean isDeterministic() { return deterministic; }
+    public boolean isResolve() { return resolve; }
+    public boolean isFlatten() { return flatten; }
+    public int getParallelism() { return parallelism; }
+    public String getSourceHash() { return sourceHash; }
+
+    /**
+     * Canonical description of every option that affects the output, used for up-to-date checks.
+     */
+    public String fingerprint() {
+        return "source=" + source +
+            ";from=" + from +
+            ";to=" + to +
+            ";syntax=" + syntax +
+            ";order=" + order +
+            ";validate=" + validate +
+            ";fillMissing=" + fillMissing +
+            ";deterministic=" + deterministic +
+            ";resolve=" + resolve +
+            ";flatten=" + flatten;
+    }
 }
@@ -3,11 +3,20 @@ package io.github.apitools.maven;
 import java.util.Collections;
 import java.util.List;
 
-public record ConversionResult(String content, List<String> warnings) {
+/**
+ * Outcome of a conversion. {@code content} is null when the output was written
+ * directly to a stream or file; {@code metrics} is null when none were collected.
+ */
+public record ConversionResult(String content, List<String> warnings, ConversionMetrics metrics) {
 
-    public ConversionResult(String content, List<String> warnings) {
+    public ConversionResult(String content, List<String> warnings, ConversionMetrics metrics) {
         this.content = content;
         this.warnings = warnings != null ? warnings : Collections.emptyList();
+        this.metrics = metrics;
+    }
+
+    public ConversionResult(String content, List<String> warnings) {
+        this(content, warnings, null);
     }
 
     public boolean hasWarnings() {
@@ -0,0 +1,219 @@
+package io.github.apitools.maven;
+
+import io.github.apitools.maven.utils.FingerprintStore;
+import io.github.apitools.maven.utils.FingerprintStore.Fingerprint;
+import io.github.apitools.maven.utils.MetricsReport;
+import io.github.apitools.maven.utils.SpecScanner;
+import io.github.apitools.maven.utils.WorkerPools;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Goal that converts every API specification found below a source directory,
+ * running the conversions on a bounded pool of worker threads.
+ */
+@Mojo(name = "convert-all", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class ConvertAllMojo extends AbstractConvertMojo {
+
+    @Parameter(property = "sourceDirectory", required = true)
+    private File sourceDirectory;
+
+    @Parameter
+    private List<String> includes;
+
+    @Parameter
+    private List<String> excludes;
+
+    @Parameter(property = "threads", defaultValue = "0")
+    private int threads;
+
+    @Parameter(property = "threadMode", defaultValue = "platform")
+    private String threadMode;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("API spec conversion skipped.");
+            return;
+        }
+
+        validateParameters();
+
+        List<Path> specs;
+        FingerprintStore fingerprints;
+        try {
+            specs = new SpecScanner(includes, excludes).scan(sourceDirectory.toPath());
+            fingerprints = openFingerprintStore();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error scanning " + sourceDirectory, e);
+        }
+
+        if (specs.isEmpty()) {
+            getLog().info("No API specifications found in " + sourceDirectory);
+            return;
+        }
+
+        Map<Path, Path> outputs = outputPaths(specs);
+
+        int poolSize = WorkerPools.effectiveSize(threads, specs.size());
+        getLog().info("Converting " + specs.size() + " specifications from " + from + " to " + to +
+            " using " + poolSize + " " + threadMode + " threads");
+
+        ExecutorService pool = WorkerPools.newFixedPool(poolSize, ThreadMode.fromString(threadMode),
+            "api-spec-converter-", getLog());
+        // One pool for the parallel parts of all conversions, not one per specification
+        ForkJoinPool conversionPool = newConversionPool();
+        ApiSpecConverter converter = newConverter(conversionPool);
+        MetricsReport executionReport = openMetricsReport();
+
+        List<String> failures = new ArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Path spec : specs) {
+                futures.add(pool.submit(() -> {
+                    convertSpec(converter, fingerprints, executionReport, spec, outputs.get(spec));
+                    return null;
+                }));
+            }
+
+            for (int i = 0; i < specs.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                    failures.add(specs.get(i) + ": " + message);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while converting API specifications", e);
+        } finally {
+            pool.shutdownNow();
+            if (conversionPool != null) {
+                conversionPool.shutdownNow();
+            }
+        }
+
+        if (fingerprints != null) {
+            try {
+                fingerprints.save();
+            } catch (IOException e) {
+                getLog().warn("Unable to save conversion fingerprints: " + e.getMessage());
+            }
+        }
+
+        writeMetricsReport(executionReport);
+
+        getLog().info("Converted " + (specs.size() - failures.size()) + " of " + specs.size() + " specifications");
+
+        if (!failures.isEmpty()) {
+            StringBuilder report = new StringBuilder()
+                .append(failures.size()).append(" of ").append(specs.size())
+                .append(" API specifications failed to convert:");
+            for (String failure : failures) {
+                report.append(System.lineSeparator()).append("  - ").append(failure);
+            }
+            throw new MojoExecutionException(report.toString());
+        }
+    }
+
+    private void validateParameters() throws MojoExecutionException {
+        if (sourceDirectory == null) {
+            throw new MojoExecutionException("The 'sourceDirectory' parameter is required");
+        }
+
+        if (outputDirectory == null) {
+            throw new MojoExecutionException("The 'outputDirectory' parameter is required");
+        }
+
+        if (!ThreadMode.isSupported(threadMode)) {
+            throw new MojoExecutionException("Unsupported thread mode: " + threadMode +
+                ". Supported modes: platform, virtual");
+        }
+
+        validateFormats();
+    }
+
+    /**
+     * Maps every spec, relative to the source directory, to its output file. Fails before
+     * anything is converted when two specs would write the same file, such as
+     * {@code api.yaml} and {@code api.json} in one directory.
+     */
+    Map<Path, Path> outputPaths(List<Path> specs) throws MojoExecutionException {
+        Map<Path, Path> outputs = new LinkedHashMap<>();
+        Map<Path, Path> writers = new HashMap<>();
+        for (Path spec : specs) {
+            // Keep the source directory layout so equally named specs do not collide
+            Path targetDir = outputDirectory.toPath();
+            if (spec.getParent() != null) {
+                targetDir = targetDir.resolve(spec.getParent());
+            }
+            Path outputPath = targetDir.resolve(generateFileName(spec.getFileName().toString()));
+
+            Path other = writers.putIfAbsent(outputPath.toAbsolutePath().normalize(), spec);
+            if (other != null) {
+                throw new MojoExecutionException("Specifications " + other + " and " + spec +
+                    " would be converted to the same file: " + outputPath);
+            }
+            outputs.put(spec, outputPath);
+        }
+        return outputs;
+    }
+
+    private void convertSpec(ApiSpecConverter converter, FingerprintStore fingerprints, MetricsReport report,
+                             Path relativeSpec, Path outputPath) throws Exception {
+        Path sourcePath = sourceDirectory.toPath().resolve(relativeSpec);
+        ConversionOptions options = buildOptions(sourcePath.toString());
+
+        Fingerprint fingerprint = fingerprints != null ? fingerprint(options) : null;
+        if (fingerprint != null && fingerprints.isUpToDate(outputPath, fingerprint)) {
+            getLog().debug("Output is up to date, skipping conversion: " + outputPath.toAbsolutePath());
+            if (report != null) {
+                report.recordUpToDate(options, outputPath);
+            }
+            return;
+        }
+
+        ConversionResult result;
+        try {
+            result = converter.convertTo(options, outputPath);
+        } catch (Exception e) {
+            if (report != null) {
+                report.recordFailure(options, outputPath, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+            throw e;
+        }
+        getLog().info("Output written to: " + outputPath.toAbsolutePath());
+        logMetrics(relativeSpec.toString(), result);
+        if (report != null) {
+            report.recordConversion(options, outputPath, result);
+        }
+
+        if (fingerprint != null) {
+            fingerprints.record(outputPath, fingerprint);
+        }
+
+        if (result.hasWarnings()) {
+            for (String warning : result.warnings()) {
+                getLog().warn(relativeSpec + ": " + warning);
+            }
+        }
+    }
+}
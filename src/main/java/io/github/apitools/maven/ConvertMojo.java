@@ -1,58 +1,46 @@
 package io.github.apitools.maven;
 
-import org.apache.maven.plugin.AbstractMojo;
+import io.github.apitools.maven.utils.FingerprintStore;
+import io.github.apitools.maven.utils.FingerprintStore.Fingerprint;
+import io.github.apitools.maven.utils.MetricsReport;
+import io.github.apitools.maven.utils.WorkerPools;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.apache.maven.project.MavenProject;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Goal that converts API specifications between different formats.
  */
 @Mojo(name = "convert", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
-public class ConvertMojo extends AbstractMojo {
-
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
+public class ConvertMojo extends AbstractConvertMojo {
 
     @Parameter(property = "source", required = true)
     private String source;
 
-    @Parameter(property = "from", required = true)
-    private String from;
-
-    @Parameter(property = "to", required = true)
-    private String to;
-
-    @Parameter(property = "syntax", defaultValue = "json")
-    private String syntax;
-
-    @Parameter(property = "order", defaultValue = "openapi")
-    private String order;
-
     @Parameter(property = "output")
     private String output;
 
-    @Parameter(property = "outputDirectory", defaultValue = "${project.build.directory}/generated-sources/api-spec")
-    private File outputDirectory;
-
-    @Parameter(property = "validate", defaultValue = "false")
-    private boolean validate;
+    /**
+     * Several outputs produced from a single read and parse of the source. When set,
+     * {@code to} and {@code output} are ignored.
+     */
+    @Parameter
+    private List<OutputTarget> outputs;
 
-    @Parameter(property = "fillMissing", defaultValue = "false")
-    private boolean fillMissing;
-
-    @Parameter(property = "skip", defaultValue = "false")
-    private boolean skip;
+    @Parameter(property = "parallelOutputs", defaultValue = "false")
+    private boolean parallelOutputs;
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
@@ -61,31 +49,58 @@ public class ConvertMojo extends AbstractMojo {
             return;
         }
 
-        getLog().info("Starting conversion from " + from + " to " + to);
+        if (hasOutputs()) {
+            getLog().info("Starting conversion from " + from + " to " + outputs.size() + " outputs");
+        } else {
+            getLog().info("Starting conversion from " + from + " to " + to);
+        }
         getLog().info("Source file: " + source);
 
+        MetricsReport report = openMetricsReport();
+        ConversionOptions options = null;
+        Path outputPath = null;
+        ForkJoinPool conversionPool = null;
         try {
             validateParameters();
-            ApiSpecConverter converter = new ApiSpecConverter(getLog());
-
-            if (output == null && outputDirectory != null) {
-                outputDirectory.mkdirs();
+            conversionPool = newConversionPool();
+            if (hasOutputs()) {
+                convertOutputs(report, conversionPool);
+                return;
             }
 
-            ConversionResult result = converter.convert(
-                ConversionOptions.builder()
-                    .source(source)
-                    .from(SpecFormat.fromString(from))
-                    .to(SpecFormat.fromString(to))
-                    .syntax(OutputSyntax.fromString(syntax))
-                    .order(FieldOrder.fromString(order))
-                    .validate(validate)
-                    .fillMissing(fillMissing)
-                    .build()
-            );
+            options = buildOptions(source);
+            outputPath = resolveOutputPath();
 
-            writeOutput(result);
+            // Skip the whole read/parse/serialize cycle when nothing changed since the last build
+            FingerprintStore fingerprints = outputPath != null ? openFingerprintStore() : null;
+            Fingerprint fingerprint = fingerprints != null ? fingerprint(options) : null;
+            if (fingerprint != null && fingerprints.isUpToDate(outputPath, fingerprint)) {
+                getLog().info("Output is up to date, skipping conversion: " + outputPath.toAbsolutePath());
+                if (report != null) {
+                    report.recordUpToDate(options, outputPath);
+                }
+                return;
+            }
+
+            ApiSpecConverter converter = newConverter(conversionPool);
+            ConversionResult result;
+            if (outputPath != null) {
+                result = converter.convertTo(options, outputPath);
+                getLog().info("Output written to: " + outputPath.toAbsolutePath());
+            } else {
+                result = converter.convert(options);
+                System.out.println(result.content());
+            }
             getLog().info("Conversion completed successfully!");
+            logMetrics(source, result);
+            if (report != null) {
+                report.recordConversion(options, outputPath, result);
+            }
+
+            if (fingerprint != null) {
+                fingerprints.record(outputPath, fingerprint);
+                fingerprints.save();
+            }
 
             if (result.hasWarnings()) {
                 for (String warning : result.warnings()) {
@@ -94,7 +109,15 @@ public class ConvertMojo extends AbstractMojo {
             }
 
         } catch (Exception e) {
+            if (report != null && options != null) {
+                report.recordFailure(options, outputPath, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
             throw new MojoExecutionException("Error during API specification conversion", e);
+        } finally {
+            if (conversionPool != null) {
+                conversionPool.shutdownNow();
+            }
+            writeMetricsReport(report);
         }
     }
 
@@ -103,74 +126,158 @@ public class ConvertMojo extends AbstractMojo {
             throw new MojoExecutionException("The 'source' parameter is required");
         }
 
-        if (!SpecFormat.isSupported(from)) {
-            throw new MojoExecutionException("Unsupported source format: " + from +
-                ". Supported formats: " + SpecFormat.getSupportedFormats());
+        if (!hasOutputs()) {
+            validateFormats();
+            return;
         }
 
-        if (!SpecFormat.isSupported(to)) {
-            throw new MojoExecutionException("Unsupported target format: " + to +
-                ". Supported formats: " + SpecFormat.getSupportedFormats());
+        validateSourceFormat();
+        Set<Path> outputPaths = new HashSet<>();
+        for (OutputTarget target : outputs) {
+            if (target.getTo() == null || target.getTo().trim().isEmpty()) {
+                throw new MojoExecutionException("Every output needs a 'to' format: " + target);
+            }
+            validateTargetFormats(target.getTo(), syntaxOf(target), orderOf(target));
+
+            Path outputPath = resolveOutputPath(target);
+            if (outputPath == null) {
+                throw new MojoExecutionException("Output " + target + " needs a 'file' or the 'outputDirectory' parameter");
+            }
+            if (!outputPaths.add(outputPath.toAbsolutePath().normalize())) {
+                throw new MojoExecutionException("Two outputs write to the same file: " + outputPath);
+            }
         }
+    }
+
+    private boolean hasOutputs() {
+        return outputs != null && !outputs.isEmpty();
+    }
 
-        if (!OutputSyntax.isSupported(syntax)) {
-            throw new MojoExecutionException("Unsupported output syntax: " + syntax +
-                ". Supported syntaxes: json, yaml");
+    private String syntaxOf(OutputTarget target) {
+        return target.getSyntax() != null ? target.getSyntax() : syntax;
+    }
+
+    private String orderOf(OutputTarget target) {
+        return target.getOrder() != null ? target.getOrder() : order;
+    }
+
+    /**
+     * Reads and parses the source once and writes every configured output from the
+     * same model. Outputs that are up to date are skipped.
+     */
+    private void convertOutputs(MetricsReport report, ForkJoinPool conversionPool) throws Exception {
+        FingerprintStore fingerprints = openFingerprintStore();
+        List<ApiSpecConverter.Target> pending = new ArrayList<>();
+        List<Fingerprint> pendingFingerprints = new ArrayList<>();
+
+        for (OutputTarget target : outputs) {
+            ConversionOptions options = buildOptions(source, target.getTo(), syntaxOf(target), orderOf(target));
+            Path outputPath = resolveOutputPath(target);
+
+            Fingerprint fingerprint = fingerprints != null ? fingerprint(options) : null;
+            if (fingerprint != null && fingerprints.isUpToDate(outputPath, fingerprint)) {
+                getLog().info("Output is up to date, skipping conversion: " + outputPath.toAbsolutePath());
+                if (report != null) {
+                    report.recordUpToDate(options, outputPath);
+                }
+                continue;
+            }
+            pending.add(new ApiSpecConverter.Target(options, outputPath));
+            pendingFingerprints.add(fingerprint);
         }
 
-        if (!FieldOrder.isSupported(order)) {
-            throw new MojoExecutionException("Unsupported field order: " + order +
-                ". Supported orders: openapi, alpha");
+        if (pending.isEmpty()) {
+            return;
         }
+
+        ExecutorService pool = parallelOutputs && pending.size() > 1
+            ? WorkerPools.newFixedPool(WorkerPools.effectiveSize(0, pending.size()), ThreadMode.PLATFORM,
+                "api-spec-converter-output-", getLog())
+            : null;
+        List<ApiSpecConverter.TargetResult> results;
+        try {
+            results = newConverter(conversionPool).convertEach(pending, pool);
+        } catch (Exception e) {
+            // The shared source could not be read or parsed: no target was written
+            if (report != null) {
+                String message = e.getMessage() != null ? e.getMessage() : e.toString();
+                for (ApiSpecConverter.Target target : pending) {
+                    report.recordFailure(target.options(), target.output(), message);
+                }
+            }
+            throw e;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+
+        Exception failure = null;
+        for (int i = 0; i < pending.size(); i++) {
+            ApiSpecConverter.TargetResult outcome = results.get(i);
+            ApiSpecConverter.Target target = outcome.target();
+            if (outcome.failed()) {
+                Exception e = outcome.failure();
+                String message = e.getMessage() != null ? e.getMessage() : e.toString();
+                getLog().error("Conversion to " + target.output().toAbsolutePath() + " failed: " + message);
+                if (report != null) {
+                    report.recordFailure(target.options(), target.output(), message);
+                }
+                failure = failure != null ? failure : e;
+                continue;
+            }
+
+            ConversionResult result = outcome.result();
+            getLog().info("Output written to: " + target.output().toAbsolutePath());
+            logMetrics(source + " -> " + target.output().getFileName(), result);
+            if (report != null) {
+                report.recordConversion(target.options(), target.output(), result);
+            }
+            if (pendingFingerprints.get(i) != null) {
+                fingerprints.record(target.output(), pendingFingerprints.get(i));
+            }
+            for (String warning : result.warnings()) {
+                getLog().warn(target.output().getFileName() + ": " + warning);
+            }
+        }
+
+        // Outputs written successfully stay up to date even when another one failed
+        if (fingerprints != null) {
+            fingerprints.save();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        getLog().info("Conversion completed successfully!");
     }
 
-    private void writeOutput(ConversionResult result) throws IOException {
-        String content = result.content();
-        
+    /**
+     * Returns where the output goes, or null when it is printed to standard output.
+     */
+    private Path resolveOutputPath() {
         if (output != null) {
-            Path outputPath = Paths.get(output);
-            if (!outputPath.isAbsolute()) {
-                outputPath = project.getBasedir().toPath().resolve(outputPath);
-            }
-            
-            Path parentDir = outputPath.getParent();
-            if (parentDir != null) {
-                Files.createDirectories(parentDir);
-            }
-            Files.write(outputPath, content.getBytes(StandardCharsets.UTF_8));
-            
-            getLog().info("Output written to: " + outputPath.toAbsolutePath());
+            return resolveAgainstBasedir(output);
         } else if (outputDirectory != null) {
-            String fileName = generateFileName();
-            Path outputPath = outputDirectory.toPath().resolve(fileName);
-            
-            Files.write(outputPath, content.getBytes(StandardCharsets.UTF_8));
-            getLog().info("Output written to: " + outputPath.toAbsolutePath());
-        } else {
-            System.out.println(content);
+            return outputDirectory.toPath().resolve(generateFileName(source));
         }
+        return null;
     }
 
-    private String generateFileName() {
-        String baseName = extractBaseName(source);
-        String extension = syntax.equals("yaml") ? "yaml" : "json";
-        return baseName + "_" + to + "." + extension;
+    private Path resolveOutputPath(OutputTarget target) {
+        File file = target.getFile();
+        if (file != null) {
+            return resolveAgainstBasedir(file.getPath());
+        } else if (outputDirectory != null) {
+            return outputDirectory.toPath().resolve(generateFileName(source, target.getTo(), syntaxOf(target)));
+        }
+        return null;
     }
 
-    private String extractBaseName(String source) {
-        String fileName = source;
-        if (source.contains("/")) {
-            fileName = source.substring(source.lastIndexOf("/") + 1);
-        }
-        if (source.contains("\\")) {
-            fileName = fileName.substring(fileName.lastIndexOf("\\") + 1);
-        }
-        
-        int dotIndex = fileName.lastIndexOf(".");
-        if (dotIndex > 0) {
-            fileName = fileName.substring(0, dotIndex);
+    private Path resolveAgainstBasedir(String path) {
+        Path outputPath = Paths.get(path);
+        if (!outputPath.isAbsolute()) {
+            outputPath = project.getBasedir().toPath().resolve(outputPath);
         }
-        
-        return fileName.isEmpty() ? "converted_spec" : fileName;
+        return outputPath;
     }
 }
@@ -0,0 +1,35 @@
+package io.github.apitools.maven;
+
+import java.io.File;
+
+/**
+ * One output of the {@code convert} goal, configured in an {@code <outputs>} list.
+ * Syntax and order default to the goal parameters; without {@code file} the output
+ * goes to {@code outputDirectory} under a name derived from the source.
+ */
+public class OutputTarget {
+    private String to;
+    private String syntax;
+    private String order;
+    private File file;
+
+    public OutputTarget() {}
+
+    public OutputTarget(String to, String syntax, String order, File file) {
+        this.to = to;
+        this.syntax = syntax;
+        this.order = order;
+        this.file = file;
+    }
+
+    // Getters
+    public String getTo() { return to; }
+    public String getSyntax() { return syntax; }
+    public String getOrder() { return order; }
+    public File getFile() { return file; }
+
+    @Override
+    public String toString() {
+        return to + "/" + syntax + (file != null ? " -> " + file : "");
+    }
+}
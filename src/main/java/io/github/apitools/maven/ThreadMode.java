@@ -0,0 +1,39 @@
+package io.github.apitools.maven;
+
+public enum ThreadMode {
+    PLATFORM("platform"),
+    VIRTUAL("virtual");
+
+    private final String value;
+
+    ThreadMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    public static ThreadMode fromString(String value) {
+        for (ThreadMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized thread mode: " + value);
+    }
+
+    public static boolean isSupported(String value) {
+        try {
+            fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.apitools.maven.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import io.github.apitools.maven.OutputSyntax;
+import io.swagger.v3.core.jackson.mixin.OpenAPIMixin;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link io.github.apitools.maven.FieldOrder#ALPHA} output: object keys are sorted while
+ * they are written, so a sorted document costs no more memory than an unsorted one.
+ * Array order is kept, as it is meaningful in both formats.
+ */
+final class AlphaOrder {
+
+    private static final ObjectWriter JSON_WRITER = sortedCopy(Json.mapper()).writer(new DefaultPrettyPrinter());
+    private static final ObjectWriter YAML_WRITER = sortedCopy(Yaml.mapper()).writer(new DefaultPrettyPrinter());
+    private static final ObjectWriter JSON_SKELETON_WRITER =
+        ChunkedOutput.withPlaceholders(sortedCopy(Json.mapper())).writer(new DefaultPrettyPrinter());
+    private static final ObjectWriter YAML_SKELETON_WRITER =
+        ChunkedOutput.withPlaceholders(sortedCopy(Yaml.mapper())).writer(new DefaultPrettyPrinter());
+
+    private AlphaOrder() {
+    }
+
+    /**
+     * Same as {@code Json.pretty()} / {@code Yaml.pretty()}, with bean properties and map
+     * entries written in key order.
+     */
+    static ObjectWriter openApiWriter(OutputSyntax syntax) {
+        return syntax == OutputSyntax.YAML ? YAML_WRITER : JSON_WRITER;
+    }
+
+    /**
+     * Sorted writer of the skeleton of a document serialized in chunks, see {@link ChunkedOutput}.
+     */
+    static ObjectWriter skeletonWriter(OutputSyntax syntax) {
+        return syntax == OutputSyntax.YAML ? YAML_SKELETON_WRITER : JSON_SKELETON_WRITER;
+    }
+
+    static ObjectMapper sortedCopy(ObjectMapper mapper) {
+        // Replace swagger's serializers for maps with extensions, including the one its
+        // OpenAPI mix-in sets on getPaths()
+        ObjectMapper sorted = mapper.copy();
+        sorted.setConfig(sorted.getSerializationConfig().with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY));
+        return sorted
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .addMixIn(OpenAPI.class, SortedOpenAPIMixin.class)
+            .addMixIn(Paths.class, ExtensibleMapMixin.class)
+            .addMixIn(ApiResponses.class, ExtensibleMapMixin.class)
+            .addMixIn(Callback.class, ExtensibleMapMixin.class);
+    }
+
+    /**
+     * Writes {@code node} with the keys of every object in sorted order, walking the tree
+     * instead of building a sorted copy of it.
+     */
+    static void writeTree(JsonGenerator gen, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            gen.writeStartObject();
+            List<String> names = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            for (String name : names) {
+                gen.writeFieldName(name);
+                writeTree(gen, node.get(name));
+            }
+            gen.writeEndObject();
+        } else if (node.isArray()) {
+            gen.writeStartArray();
+            for (JsonNode element : node) {
+                writeTree(gen, element);
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeTree(node);
+        }
+    }
+
+    static List<String> sortedKeys(Map<String, ?> map) {
+        List<String> keys = new ArrayList<>(map.keySet());
+        Collections.sort(keys);
+        return keys;
+    }
+
+    private abstract static class SortedOpenAPIMixin extends OpenAPIMixin {
+
+        @Override
+        @JsonSerialize(using = ExtensibleMapSerializer.class)
+        public abstract Paths getPaths();
+    }
+
+    @JsonSerialize(using = ExtensibleMapSerializer.class)
+    private abstract static class ExtensibleMapMixin {
+    }
+
+    /**
+     * Swagger writes maps that carry extensions (paths, responses, callbacks) entries
+     * first and extensions last, whatever the configured ordering: merge both in key order.
+     */
+    private static final class ExtensibleMapSerializer extends JsonSerializer<Map<String, ?>> {
+
+        @Override
+        public void serialize(Map<String, ?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Map<String, Object> fields = new TreeMap<>(value);
+            Map<String, Object> extensions = extensions(value);
+            if (extensions == null || extensions.isEmpty()) {
+                // Plain map, as swagger does: null entries follow the mapper's inclusion rules
+                provider.defaultSerializeValue(fields, gen);
+                return;
+            }
+
+            fields.putAll(extensions);
+            gen.writeStartObject(value);
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                provider.defaultSerializeField(field.getKey(), field.getValue(), gen);
+            }
+            gen.writeEndObject();
+        }
+
+        private static Map<String, Object> extensions(Map<String, ?> value) {
+            if (value instanceof Paths paths) {
+                return paths.getExtensions();
+            }
+            if (value instanceof ApiResponses responses) {
+                return responses.getExtensions();
+            }
+            return value instanceof Callback callback ? callback.getExtensions() : null;
+        }
+    }
+}
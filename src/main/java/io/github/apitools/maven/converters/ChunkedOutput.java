@@ -0,0 +1,371 @@
+package io.github.apitools.maven.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.github.apitools.maven.OutputSyntax;
+import io.swagger.v3.core.jackson.mixin.ComponentsMixin;
+import io.swagger.v3.core.jackson.mixin.OpenAPIMixin;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Serializes the large maps of a document (paths, definitions, schemas) in chunks on a
+ * pool, producing the same bytes as a single-threaded serialization.
+ * <p>
+ * The document is first written as a skeleton where each large map is replaced by a
+ * placeholder string. The entries of the map are then written in chunks, each into its
+ * own pooled buffer, nested under as many wrapper objects as the map has parents so that
+ * the generator indents them exactly as in the whole document. The chunks are finally
+ * spliced into the skeleton in order, a bounded window ahead of the output.
+ */
+final class ChunkedOutput {
+
+    // Chunks per worker thread a map is split into, and chunks serialized ahead of the output
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int CHUNKS_AHEAD_PER_THREAD = 2;
+    private static final int MAX_ENTRIES_PER_CHUNK = 64;
+
+    private static final ObjectWriter JSON_SKELETON_WRITER =
+        withPlaceholders(Json.mapper()).writer(new DefaultPrettyPrinter());
+    private static final ObjectWriter YAML_SKELETON_WRITER =
+        withPlaceholders(Yaml.mapper()).writer(new DefaultPrettyPrinter());
+
+    /**
+     * Writes entries {@code [from, to)} of a map as a complete document, the entries
+     * being nested under wrapper objects whose only key is {@code key}.
+     */
+    @FunctionalInterface
+    interface ChunkWriter {
+        void write(OutputStream out, String key, int from, int to) throws IOException;
+    }
+
+    private final ForkJoinPool pool;
+    private final boolean yaml;
+    private final String token = "chunk" + UUID.randomUUID().toString().replace("-", "");
+    private final byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+    private final List<Placeholder> placeholders = new ArrayList<>();
+    private final Queue<ChunkBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    ChunkedOutput(ForkJoinPool pool, OutputSyntax syntax) {
+        this.pool = pool;
+        this.yaml = syntax == OutputSyntax.YAML;
+    }
+
+    /**
+     * Registers a map of {@code size} entries about to be written by {@code gen} and
+     * returns the string to write in its place. Maps must be registered in the order
+     * they appear in the skeleton.
+     */
+    String placeholder(JsonGenerator gen, int size, ChunkWriter writer) {
+        int chunkSize = Math.min(MAX_ENTRIES_PER_CHUNK,
+            Math.max(1, size / (pool.getParallelism() * CHUNKS_PER_THREAD)));
+        placeholders.add(new Placeholder(depth(gen), size, chunkSize, writer));
+        return token;
+    }
+
+    /**
+     * Number of objects and arrays {@code gen} is currently writing into. Write contexts
+     * do not track their nesting depth.
+     */
+    static int depth(JsonGenerator gen) {
+        int depth = 0;
+        for (JsonStreamContext context = gen.getOutputContext(); !context.inRoot(); context = context.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Creates a buffer for the skeleton, to be passed to {@link #writeTo} once complete.
+     */
+    ByteArrayOutputStream newSkeleton() {
+        return new ChunkBuffer();
+    }
+
+    /**
+     * Writes the document to {@code out}: the skeleton with every placeholder replaced
+     * by the entries of its map.
+     */
+    void writeTo(ByteArrayOutputStream skeleton, OutputStream out) throws IOException {
+        ChunkBuffer document = (ChunkBuffer) skeleton;
+        Iterator<Supplier<ChunkBuffer>> chunks = placeholders.stream()
+            .flatMap(placeholder -> IntStream.range(0, placeholder.chunks())
+                .mapToObj(chunk -> (Supplier<ChunkBuffer>) () -> serialize(placeholder, chunk)))
+            .iterator();
+
+        int position = 0;
+        try (OrderedConversions<ChunkBuffer> queue = new OrderedConversions<>(pool, chunks,
+                pool.getParallelism() * CHUNKS_AHEAD_PER_THREAD)) {
+            for (Placeholder placeholder : placeholders) {
+                int at = document.indexOf(tokenBytes, position);
+                if (at < 0) {
+                    throw new IllegalStateException("Placeholder not found in the document skeleton");
+                }
+                position = yaml
+                    ? spliceYaml(document, position, at, placeholder, queue, out)
+                    : spliceJson(document, position, at, placeholder, queue, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write(document.bytes(), position, document.size() - position);
+    }
+
+    /**
+     * Replaces {@code "token"} with the object of the entries, returns the skeleton
+     * position after the placeholder.
+     */
+    private int spliceJson(ChunkBuffer document, int position, int at, Placeholder placeholder,
+                           OrderedConversions<ChunkBuffer> queue, OutputStream out) throws IOException {
+        int start = at - 1;
+        out.write(document.bytes(), position, start - position);
+        out.write('{');
+        ChunkBuffer chunk = null;
+        for (int i = 0; i < placeholder.chunks(); i++) {
+            if (chunk != null) {
+                buffers.add(chunk);
+                out.write(',');
+            }
+            chunk = queue.next();
+            chunk.writeBody(out);
+        }
+        chunk.writeClose(out);
+        buffers.add(chunk);
+        return at + tokenBytes.length + 1;
+    }
+
+    /**
+     * Replaces {@code key: token} or {@code key: "token"} with the key followed by the
+     * block of the entries, returns the skeleton position after the placeholder line.
+     * The key is one of the fixed property names holding a large map, never an entry key,
+     * so it is not quoted and the placeholder directly follows its colon.
+     */
+    private int spliceYaml(ChunkBuffer document, int position, int at, Placeholder placeholder,
+                           OrderedConversions<ChunkBuffer> queue, OutputStream out) throws IOException {
+        byte[] bytes = document.bytes();
+        int start = bytes[at - 1] == '"' ? at - 2 : at - 1;
+        if (bytes[start] != ' ' || bytes[start - 1] != ':') {
+            throw new IllegalStateException("Placeholder is not the value of a key in the document skeleton");
+        }
+        int end = document.indexOf((byte) '\n', at) + 1;
+        out.write(document.bytes(), position, start - position);
+        out.write('\n');
+        for (int i = 0; i < placeholder.chunks(); i++) {
+            ChunkBuffer chunk = queue.next();
+            chunk.writeBody(out);
+            buffers.add(chunk);
+        }
+        return end;
+    }
+
+    private ChunkBuffer serialize(Placeholder placeholder, int chunk) {
+        ChunkBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new ChunkBuffer();
+        }
+        buffer.reset();
+
+        int from = chunk * placeholder.chunkSize();
+        int to = Math.min(placeholder.size(), from + placeholder.chunkSize());
+        try {
+            placeholder.writer().write(buffer, token, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.locateBody(tokenBytes, placeholder.depth(), yaml);
+        return buffer;
+    }
+
+    private record Placeholder(int depth, int size, int chunkSize, ChunkWriter writer) {
+
+        int chunks() {
+            return (size + chunkSize - 1) / chunkSize;
+        }
+    }
+
+    /**
+     * A reusable buffer holding a chunk document, with the position of the entries in it.
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+        private int bodyStart;
+        private int bodyEnd;
+        private int closeEnd;
+
+        ChunkBuffer() {
+            super(64 * 1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+
+        /**
+         * Finds the entries after the {@code depth} wrapper keys. In JSON the entries are
+         * followed by the closing of their object, which is kept to close the whole map.
+         */
+        void locateBody(byte[] key, int depth, boolean yaml) {
+            int at = -1;
+            for (int i = 0; i < depth; i++) {
+                at = indexOf(key, at + 1);
+            }
+            if (yaml) {
+                bodyStart = indexOf((byte) '\n', at) + 1;
+                bodyEnd = count;
+                closeEnd = count;
+                return;
+            }
+
+            bodyStart = indexOf((byte) '{', at) + 1;
+            int close = count;
+            for (int braces = 0; braces <= depth; ) {
+                close--;
+                if (buf[close] == '}') {
+                    braces++;
+                }
+            }
+            closeEnd = close + 1;
+            bodyEnd = close;
+            while (Character.isWhitespace(buf[bodyEnd - 1])) {
+                bodyEnd--;
+            }
+        }
+
+        void writeBody(OutputStream out) throws IOException {
+            out.write(buf, bodyStart, bodyEnd - bodyStart);
+        }
+
+        void writeClose(OutputStream out) throws IOException {
+            out.write(buf, bodyEnd, closeEnd - bodyEnd);
+        }
+
+        int indexOf(byte[] bytes, int from) {
+            search:
+            for (int i = from; i <= count - bytes.length; i++) {
+                for (int j = 0; j < bytes.length; j++) {
+                    if (buf[i + j] != bytes[j]) {
+                        continue search;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        int indexOf(byte b, int from) {
+            for (int i = from; i < count; i++) {
+                if (buf[i] == b) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Same as {@code Json.pretty()} / {@code Yaml.pretty()}, writing placeholders for the
+     * paths and the component schemas: to be set up with {@link #withChunks}.
+     */
+    static ObjectWriter skeletonWriter(OutputSyntax syntax) {
+        return syntax == OutputSyntax.YAML ? YAML_SKELETON_WRITER : JSON_SKELETON_WRITER;
+    }
+
+    /**
+     * Copy of an OpenAPI mapper writing placeholders for the paths and the component schemas.
+     */
+    static ObjectMapper withPlaceholders(ObjectMapper mapper) {
+        return mapper.copy()
+            .addMixIn(OpenAPI.class, PlaceholderOpenAPIMixin.class)
+            .addMixIn(Components.class, PlaceholderComponentsMixin.class);
+    }
+
+    /**
+     * Sets up {@code skeletonWriter}, created from a {@link #withPlaceholders} mapper, to
+     * register its placeholders here and have their entries written by {@code writer}.
+     */
+    ObjectWriter withChunks(ObjectWriter skeletonWriter, ObjectWriter writer) {
+        return skeletonWriter
+            .withAttribute(ChunkedOutput.class, this)
+            .withAttribute(ObjectWriter.class, writer);
+    }
+
+    private abstract static class PlaceholderOpenAPIMixin extends OpenAPIMixin {
+
+        @Override
+        @JsonSerialize(using = PlaceholderSerializer.class)
+        public abstract Paths getPaths();
+    }
+
+    private abstract static class PlaceholderComponentsMixin extends ComponentsMixin {
+
+        @JsonSerialize(using = PlaceholderSerializer.class)
+        public abstract Map<String, Schema> getSchemas();
+    }
+
+    /**
+     * Writes the placeholder of a map and registers its entries, in the order the mapper
+     * would write them: paths extensions come after the paths, or among them when keys
+     * are sorted.
+     */
+    private static final class PlaceholderSerializer extends JsonSerializer<Map<String, ?>> {
+
+        @Override
+        public void serialize(Map<String, ?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Map<String, Object> fields = provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                ? new TreeMap<>(value)
+                : new LinkedHashMap<>(value);
+            if (value instanceof Paths paths && paths.getExtensions() != null) {
+                fields.putAll(paths.getExtensions());
+            }
+            if (fields.isEmpty()) {
+                provider.defaultSerializeValue(value, gen);
+                return;
+            }
+            List<Map.Entry<String, Object>> entries = new ArrayList<>(fields.entrySet());
+
+            ChunkedOutput chunks = (ChunkedOutput) provider.getAttribute(ChunkedOutput.class);
+            ObjectWriter writer = (ObjectWriter) provider.getAttribute(ObjectWriter.class);
+            int depth = depth(gen);
+            gen.writeString(chunks.placeholder(gen, entries.size(), (out, key, from, to) -> {
+                Map<String, Object> chunk = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> entry : entries.subList(from, to)) {
+                    chunk.put(entry.getKey(), entry.getValue());
+                }
+                Object document = chunk;
+                for (int i = 0; i < depth; i++) {
+                    document = Collections.singletonMap(key, document);
+                }
+                writer.writeValue(out, document);
+            }));
+        }
+    }
+}
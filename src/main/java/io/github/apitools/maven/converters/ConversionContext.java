@@ -0,0 +1,284 @@
+package io.github.apitools.maven.converters;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.utils.WorkerPools;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * State of a single conversion. A new context is created for every call to
+ * {@link FromOpenApiConverter#convertFromOpenAPI}, so the converter itself holds
+ * no per-document state and can be shared between threads. With a parallelism other
+ * than 1 the parts of the document are converted on the converter's shared pool or, without
+ * one, on a pool the context creates and shuts down when it is closed.
+ */
+class ConversionContext implements AutoCloseable {
+
+    private final OpenAPI openAPI;
+    private final ConversionOptions options;
+    private final Map<Schema<?>, ObjectNode> convertedSchemas = Collections.synchronizedMap(new IdentityHashMap<>());
+    private Map<Schema<?>, Integer> schemaUsages;
+    private volatile Map<ParameterKey, String> globalParameterIndex;
+    private final References<Parameter> parameterReferences = new References<>(Components::getParameters);
+    private final References<RequestBody> requestBodyReferences = new References<>(Components::getRequestBodies);
+    private final References<ApiResponse> responseReferences = new References<>(Components::getResponses);
+    private final References<Schema> schemaReferences = new References<>(Components::getSchemas);
+    private final ForkJoinPool sharedPool;
+    private ForkJoinPool pool;
+    private boolean ownsPool;
+
+    ConversionContext(OpenAPI openAPI, ConversionOptions options) {
+        this(openAPI, options, null);
+    }
+
+    /**
+     * Creates a context converting on {@code sharedPool}, owned by the caller, when the
+     * conversion is parallel. A null pool makes the context create its own.
+     */
+    ConversionContext(OpenAPI openAPI, ConversionOptions options, ForkJoinPool sharedPool) {
+        this.openAPI = openAPI;
+        this.options = options;
+        this.sharedPool = sharedPool;
+    }
+
+    OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    ConversionOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the pool to convert independent parts of the document on, or null when the
+     * conversion is serial. Without a shared pool one is created on first use.
+     */
+    synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int parallelism = WorkerPools.effectiveSize(options.getParallelism(), Integer.MAX_VALUE);
+            if (parallelism > 1) {
+                ownsPool = sharedPool == null;
+                pool = ownsPool ? new ForkJoinPool(parallelism) : sharedPool;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Shuts down the pool created by this context. A shared pool is left to its owner.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null && ownsPool) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Counts how many places reference each schema instance, so that only shared
+     * schemas are kept for reuse and memory stays bounded while streaming.
+     */
+    void countSchemaUsages() {
+        Map<Schema<?>, Integer> usages = new IdentityHashMap<>();
+
+        if (openAPI.getPaths() != null) {
+            for (PathItem pathItem : openAPI.getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    RequestBody requestBody = operation.getRequestBody();
+                    if (requestBody != null && requestBody.get$ref() != null) {
+                        requestBody = resolveRequestBodyReference(requestBody.get$ref());
+                    }
+                    if (requestBody != null) {
+                        countSchemaUsages(usages, firstSchema(requestBody.getContent()));
+                    }
+                    if (operation.getResponses() != null) {
+                        for (ApiResponse response : operation.getResponses().values()) {
+                            if (response.get$ref() != null) {
+                                ApiResponse resolved = resolveResponseReference(response.get$ref());
+                                if (resolved != null) response = resolved;
+                            }
+                            countSchemaUsages(usages, firstSchema(response.getContent()));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (openAPI.getComponents() != null) {
+            if (openAPI.getComponents().getSchemas() != null) {
+                for (Schema<?> schema : openAPI.getComponents().getSchemas().values()) {
+                    countSchemaUsages(usages, schema);
+                }
+            }
+            if (openAPI.getComponents().getResponses() != null) {
+                for (ApiResponse response : openAPI.getComponents().getResponses().values()) {
+                    countSchemaUsages(usages, firstSchema(response.getContent()));
+                }
+            }
+        }
+
+        schemaUsages = usages;
+    }
+
+    private static void countSchemaUsages(Map<Schema<?>, Integer> usages, Schema<?> schema) {
+        if (schema == null || usages.merge(schema, 1, Integer::sum) > 1 || schema.get$ref() != null) {
+            return;
+        }
+        if (schema.getProperties() != null) {
+            for (Schema<?> property : schema.getProperties().values()) {
+                countSchemaUsages(usages, property);
+            }
+        }
+        countSchemaUsages(usages, schema.getItems());
+        if (schema.getAllOf() != null) {
+            for (Schema<?> subSchema : schema.getAllOf()) {
+                countSchemaUsages(usages, subSchema);
+            }
+        }
+    }
+
+    private static Schema<?> firstSchema(Content content) {
+        if (content == null || content.isEmpty()) return null;
+        return content.values().iterator().next().getSchema();
+    }
+
+    /**
+     * Returns the Swagger 2 node already produced for this exact schema instance, or null.
+     * Converted nodes are never modified after creation, so they can be shared freely,
+     * also between threads. Threads converting the same schema at once both produce it
+     * and one node is kept, so the output is the same.
+     */
+    ObjectNode getConvertedSchema(Schema<?> schema) {
+        return convertedSchemas.get(schema);
+    }
+
+    void putConvertedSchema(Schema<?> schema, ObjectNode node) {
+        if (schemaUsages == null || schemaUsages.getOrDefault(schema, 0) > 1) {
+            convertedSchemas.put(schema, node);
+        }
+    }
+
+    // Risoluzione riferimenti
+    //
+    // Local references are followed only when the converter dereferences them, so a source
+    // parsed without resolve pays just for the ones it uses. Each is looked up once.
+    Parameter resolveParameterReference(String ref) {
+        return parameterReferences.resolve(openAPI, ref);
+    }
+
+    RequestBody resolveRequestBodyReference(String ref) {
+        return requestBodyReferences.resolve(openAPI, ref);
+    }
+
+    ApiResponse resolveResponseReference(String ref) {
+        return responseReferences.resolve(openAPI, ref);
+    }
+
+    Schema<?> resolveSchemaReference(String ref) {
+        return schemaReferences.resolve(openAPI, ref);
+    }
+
+    /**
+     * Returns the name of the first global parameter (in declaration order) that is
+     * structurally identical to {@code param}, or null when there is none.
+     */
+    String findMatchingGlobalParameter(Parameter param) {
+        return globalParameterIndex().get(ParameterKey.of(param));
+    }
+
+    private Map<ParameterKey, String> globalParameterIndex() {
+        Map<ParameterKey, String> index = globalParameterIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = globalParameterIndex;
+                if (index == null) {
+                    index = buildGlobalParameterIndex();
+                    globalParameterIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private Map<ParameterKey, String> buildGlobalParameterIndex() {
+        if (openAPI.getComponents() == null || openAPI.getComponents().getParameters() == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<ParameterKey, String> index = new HashMap<>();
+        for (Map.Entry<String, Parameter> entry : openAPI.getComponents().getParameters().entrySet()) {
+            if (entry.getValue() != null) {
+                // putIfAbsent keeps the first declared match
+                index.putIfAbsent(ParameterKey.of(entry.getValue()), entry.getKey());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The properties two parameters must share to be considered the same parameter:
+     * name, in, description, required and the main schema properties.
+     */
+    record ParameterKey(String name, String in, String description, Boolean required, boolean hasSchema,
+                        String type, String format, String ref, Object defaultValue,
+                        BigDecimal minimum, BigDecimal maximum) {
+
+        static ParameterKey of(Parameter param) {
+            Schema<?> schema = param.getSchema();
+            if (schema == null) {
+                return new ParameterKey(param.getName(), param.getIn(), param.getDescription(), param.getRequired(),
+                    false, null, null, null, null, null, null);
+            }
+            return new ParameterKey(param.getName(), param.getIn(), param.getDescription(), param.getRequired(),
+                true, schema.getType(), schema.getFormat(), schema.get$ref(), schema.getDefault(),
+                schema.getMinimum(), schema.getMaximum());
+        }
+    }
+
+    /**
+     * Memoized lookups of references into one components section, by the last segment of
+     * the reference with JSON pointer escapes decoded. Misses are remembered too.
+     */
+    private static final class References<T> {
+
+        private final Function<Components, Map<String, T>> section;
+        private final Map<String, Optional<T>> resolved = new ConcurrentHashMap<>();
+
+        References(Function<Components, Map<String, T>> section) {
+            this.section = section;
+        }
+
+        T resolve(OpenAPI openAPI, String ref) {
+            return resolved.computeIfAbsent(ref, key -> Optional.ofNullable(lookup(openAPI, key))).orElse(null);
+        }
+
+        private T lookup(OpenAPI openAPI, String ref) {
+            if (openAPI.getComponents() == null) return null;
+            Map<String, T> entries = section.apply(openAPI.getComponents());
+            if (entries == null) return null;
+            String name = ref.substring(ref.lastIndexOf('/') + 1);
+            if (name.indexOf('~') >= 0) {
+                name = name.replace("~1", "/").replace("~0", "~");
+            }
+            return entries.get(name);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.apitools.maven.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.apitools.maven.OutputSyntax;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Output of {@link io.github.apitools.maven.ConversionOptions#isDeterministic()} conversions:
+ * the same API always gives the same bytes, whatever the map implementations of the model
+ * or the platform. Keys are sorted as with {@link io.github.apitools.maven.FieldOrder#ALPHA},
+ * decimals are written in their shortest plain form ({@code 1} and {@code 1.5}, never
+ * {@code 1.0} or {@code 1E+1}) and lines end with LF.
+ */
+final class DeterministicOutput {
+
+    /**
+     * The pretty printer of {@code Json.pretty()}, with LF instead of the platform line separator.
+     * YAML output always uses LF.
+     */
+    static final DefaultPrettyPrinter PRETTY_PRINTER = new DefaultPrettyPrinter()
+        .withObjectIndenter(new DefaultIndenter("  ", "\n"));
+
+    private static final ObjectWriter JSON_WRITER = canonicalWriter(Json.mapper(), false);
+    private static final ObjectWriter YAML_WRITER = canonicalWriter(Yaml.mapper(), false);
+    private static final ObjectWriter JSON_SKELETON_WRITER = canonicalWriter(Json.mapper(), true);
+    private static final ObjectWriter YAML_SKELETON_WRITER = canonicalWriter(Yaml.mapper(), true);
+
+    private DeterministicOutput() {
+    }
+
+    static ObjectWriter openApiWriter(OutputSyntax syntax) {
+        return syntax == OutputSyntax.YAML ? YAML_WRITER : JSON_WRITER;
+    }
+
+    /**
+     * Canonical writer of the skeleton of a document serialized in chunks, see {@link ChunkedOutput}.
+     */
+    static ObjectWriter skeletonWriter(OutputSyntax syntax) {
+        return syntax == OutputSyntax.YAML ? YAML_SKELETON_WRITER : JSON_SKELETON_WRITER;
+    }
+
+    /**
+     * The canonical form of a decimal: no trailing zeros, written without an exponent
+     * by generators with {@link JsonGenerator.Feature#WRITE_BIGDECIMAL_AS_PLAIN}.
+     */
+    static BigDecimal canonical(BigDecimal value) {
+        return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+
+    /**
+     * The canonical form of a tree, for the default, enum and example values that the model
+     * holds as untyped objects: keys sorted, floating-point numbers as canonical decimals.
+     */
+    static JsonNode canonical(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isObject()) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            node.fields().forEachRemaining(field -> sorted.put(field.getKey(), canonical(field.getValue())));
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            copy.setAll(sorted);
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(item -> copy.add(canonical(item)));
+            return copy;
+        }
+        if (node.isFloatingPointNumber()) {
+            return JsonNodeFactory.instance.numberNode(canonical(node.decimalValue()));
+        }
+        return node;
+    }
+
+    private static ObjectWriter canonicalWriter(ObjectMapper mapper, boolean placeholders) {
+        SimpleModule numbers = new SimpleModule("canonical-numbers");
+        numbers.addSerializer(BigDecimal.class, new CanonicalDecimalSerializer());
+        numbers.addSerializer(Double.class, new CanonicalFloatingPointSerializer());
+        numbers.addSerializer(Float.class, new CanonicalFloatingPointSerializer());
+        numbers.addSerializer(JsonNode.class, new CanonicalTreeSerializer());
+
+        ObjectMapper canonical = AlphaOrder.sortedCopy(mapper).registerModule(numbers);
+        if (placeholders) {
+            canonical = ChunkedOutput.withPlaceholders(canonical);
+        }
+        return canonical.writer(PRETTY_PRINTER)
+            .with(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+    }
+
+    private static final class CanonicalDecimalSerializer extends JsonSerializer<BigDecimal> {
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(canonical(value));
+        }
+
+        @Override
+        public Class<BigDecimal> handledType() {
+            return BigDecimal.class;
+        }
+    }
+
+    /**
+     * Untyped values (enums, defaults and examples of schemas without a type) are parsed as doubles.
+     */
+    private static final class CanonicalFloatingPointSerializer extends JsonSerializer<Number> {
+
+        @Override
+        public void serialize(Number value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (Double.isFinite(value.doubleValue())) {
+                // toString() keeps floats short: 1.1f, not 1.100000023841858
+                gen.writeNumber(canonical(new BigDecimal(value.toString())));
+            } else {
+                gen.writeNumber(value.doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Trees in the model (examples, extensions) bypass both the decimal serializer and
+     * {@link com.fasterxml.jackson.databind.SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS}.
+     */
+    private static final class CanonicalTreeSerializer extends JsonSerializer<JsonNode> {
+
+        @Override
+        public void serialize(JsonNode value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            canonical(value).serialize(gen, provider);
+        }
+
+        @Override
+        public Class<JsonNode> handledType() {
+            return JsonNode.class;
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package io.github.apitools.maven.converters;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.FieldOrder;
 import io.github.apitools.maven.OutputSyntax;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
@@ -18,52 +26,306 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.apache.maven.plugin.logging.Log;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Converts an {@link OpenAPI} model to the requested target format. Instances hold
+ * no per-document state and can be shared between threads.
+ */
 public class FromOpenApiConverter {
 
+    // Converted entries waiting to be written, per worker thread, in concurrent conversions
+    private static final int ENTRIES_AHEAD_PER_THREAD = 4;
+
     private final Log log;
+    private final ForkJoinPool pool;
     private final ObjectMapper jsonMapper;
     private final YAMLMapper yamlMapper;
-    private OpenAPI currentOpenAPI;
 
     public FromOpenApiConverter(Log log) {
+        this(log, null);
+    }
+
+    /**
+     * Creates a converter running the parallel conversions on {@code pool}, shared by all of
+     * them and owned by the caller, or on a pool per conversion when it is null.
+     */
+    public FromOpenApiConverter(Log log, ForkJoinPool pool) {
         this.log = log;
+        this.pool = pool;
         this.jsonMapper = new ObjectMapper();
         this.yamlMapper = new YAMLMapper();
 
         this.jsonMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         this.yamlMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        // Sections are written one tree at a time: let the output stream decide when to flush
+        this.jsonMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.yamlMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     public String convertFromOpenAPI(OpenAPI openAPI, ConversionOptions options) throws Exception {
-        this.currentOpenAPI = openAPI;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        convertFromOpenAPI(openAPI, options, buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
 
+    /**
+     * Converts {@code openAPI} and writes the result to {@code out} as it is produced.
+     * The stream is flushed but not closed.
+     */
+    public void convertFromOpenAPI(OpenAPI openAPI, ConversionOptions options, OutputStream out) throws Exception {
         switch (options.getTo()) {
             case SWAGGER_2:
-                return convertOpenAPIToSwagger2(openAPI, options);
+                try (ConversionContext ctx = new ConversionContext(openAPI, options, pool)) {
+                    if (ctx.getPool() != null) {
+                        writeSwagger2Chunked(ctx, out);
+                    } else {
+                        try (JsonGenerator gen = createSwagger2Generator(options, out)) {
+                            writeSwagger2(ctx, gen, null);
+                        }
+                    }
+                }
+                break;
             case OPENAPI_3:
-                return serializeOpenAPI(openAPI, options);
+                try (ConversionContext ctx = new ConversionContext(openAPI, options, pool)) {
+                    serializeOpenAPI(ctx, out);
+                }
+                break;
             default:
                 throw new IllegalArgumentException("Conversion not supported to: " + options.getTo());
         }
+        out.flush();
+    }
+
+    /**
+     * Writes the Swagger 2 conversion of {@code openAPI} to {@code out} like
+     * {@link #convertFromOpenAPI(OpenAPI, ConversionOptions, OutputStream)} and also returns
+     * the document as a tree, so it can be validated without parsing the output back.
+     * The output is still written as it is converted, but the converted entries are kept
+     * for the tree: memory grows with the document instead of one entry at a time.
+     */
+    public JsonNode convertToSwagger2(OpenAPI openAPI, ConversionOptions options, OutputStream out) throws Exception {
+        ObjectNode document = jsonMapper.createObjectNode();
+        try (ConversionContext ctx = new ConversionContext(openAPI, options, pool);
+             JsonGenerator gen = createSwagger2Generator(options, out)) {
+            writeSwagger2(ctx, gen, document);
+        }
+        out.flush();
+        return document;
     }
 
-    private String serializeOpenAPI(OpenAPI openAPI, ConversionOptions options) {
+    /**
+     * Writes the OpenAPI model. When the context has a pool, the paths and the component
+     * schemas are serialized in chunks on it, see {@link ChunkedOutput}.
+     */
+    private void serializeOpenAPI(ConversionContext ctx, OutputStream out) throws IOException {
+        ConversionOptions options = ctx.getOptions();
+        ObjectWriter writer;
+        ObjectWriter skeletonWriter;
+        if (options.isDeterministic()) {
+            writer = DeterministicOutput.openApiWriter(options.getSyntax());
+            skeletonWriter = DeterministicOutput.skeletonWriter(options.getSyntax());
+        } else if (options.getOrder() == FieldOrder.ALPHA) {
+            writer = AlphaOrder.openApiWriter(options.getSyntax());
+            skeletonWriter = AlphaOrder.skeletonWriter(options.getSyntax());
+        } else {
+            writer = options.getSyntax() == OutputSyntax.YAML ? Yaml.pretty() : Json.pretty();
+            skeletonWriter = ChunkedOutput.skeletonWriter(options.getSyntax());
+        }
+
+        if (ctx.getPool() != null) {
+            ChunkedOutput chunks = new ChunkedOutput(ctx.getPool(), options.getSyntax());
+            ByteArrayOutputStream skeleton = chunks.newSkeleton();
+            chunks.withChunks(skeletonWriter, writer).writeValue(skeleton, ctx.getOpenAPI());
+            chunks.writeTo(skeleton, out);
+            return;
+        }
+
+        try (JsonGenerator gen = writer.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.writeValue(gen, ctx.getOpenAPI());
+        }
+    }
+
+    private JsonGenerator createSwagger2Generator(ConversionOptions options, OutputStream out) throws IOException {
+        JsonGenerator gen;
         if (options.getSyntax() == OutputSyntax.YAML) {
-            return Yaml.pretty(openAPI);
+            gen = yamlMapper.writer().createGenerator(out);
+        } else if (options.isDeterministic()) {
+            gen = jsonMapper.writer(DeterministicOutput.PRETTY_PRINTER).createGenerator(out);
         } else {
-            return Json.pretty(openAPI);
+            gen = jsonMapper.writerWithDefaultPrettyPrinter().createGenerator(out);
         }
+        if (options.isDeterministic()) {
+            gen.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        }
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return gen;
     }
 
-    private String convertOpenAPIToSwagger2(OpenAPI openAPI, ConversionOptions options) throws Exception {
+    @FunctionalInterface
+    private interface SectionWriter {
+        /**
+         * Writes the section and returns it as a tree when {@code retain} is set, else null.
+         */
+        JsonNode write(JsonGenerator gen, boolean retain) throws IOException;
+    }
+
+    private static SectionWriter treeSection(JsonNode node, boolean alpha) {
+        return (gen, retain) -> {
+            writeTree(gen, node, alpha);
+            return node;
+        };
+    }
+
+    /**
+     * A section written as an object of converted entries, in map order or sorted. Entries
+     * are converted while they are written, or taken from a queue converting them ahead.
+     */
+    private static final class EntrySection<V> implements SectionWriter {
+        private final Map<String, V> entries;
+        private final List<String> names;
+        private final BiFunction<String, V, ObjectNode> converter;
+        private final boolean alpha;
+        private OrderedConversions<ObjectNode> queue;
+
+        EntrySection(Map<String, V> entries, BiFunction<String, V, ObjectNode> converter, boolean alpha) {
+            this.entries = entries;
+            this.names = alpha ? AlphaOrder.sortedKeys(entries) : new ArrayList<>(entries.keySet());
+            this.converter = converter;
+            this.alpha = alpha;
+        }
+
+        Stream<Supplier<ObjectNode>> conversions() {
+            return names.stream().map(name -> () -> converter.apply(name, entries.get(name)));
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        @Override
+        public JsonNode write(JsonGenerator gen, boolean retain) throws IOException {
+            ObjectNode retained = retain ? JsonNodeFactory.instance.objectNode() : null;
+            write(gen, 0, names.size(), retained);
+            return retained;
+        }
+
+        /**
+         * Writes an object of the entries {@code [from, to)}, also adding them to
+         * {@code retained} unless it is null.
+         */
+        void write(JsonGenerator gen, int from, int to, ObjectNode retained) throws IOException {
+            gen.writeStartObject();
+            for (String name : names.subList(from, to)) {
+                gen.writeFieldName(name);
+                ObjectNode node = queue != null ? queue.next() : converter.apply(name, entries.get(name));
+                writeTree(gen, node, alpha);
+                if (retained != null) {
+                    retained.set(name, node);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Emits the Swagger 2 document section by section: only one path item, definition,
+     * parameter or response is held as a tree at any time. With {@link FieldOrder#ALPHA}
+     * or deterministic output, sections, entries and the keys of every tree are written
+     * in sorted order.
+     * <p>
+     * When the context has a pool, the entries of all sections are converted concurrently,
+     * a bounded window ahead of the writer, and written in the same order as in a serial
+     * conversion: component sections start converting while the paths are still written.
+     * <p>
+     * Unless {@code document} is null, every written section is also kept in it.
+     */
+    private void writeSwagger2(ConversionContext ctx, JsonGenerator gen, ObjectNode document) throws IOException {
+        Map<String, SectionWriter> sections = swagger2Sections(ctx);
+        List<String> order = sectionOrder(ctx, sections);
+        try (OrderedConversions<ObjectNode> queue = convertAhead(ctx.getPool(), order, sections)) {
+            gen.writeStartObject();
+            for (String name : order) {
+                gen.writeFieldName(name);
+                JsonNode section = sections.get(name).write(gen, document != null);
+                if (document != null) {
+                    document.set(name, section);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the Swagger 2 document like {@link #writeSwagger2} with the entries of every
+     * entry section converted and serialized in chunks on the context's pool, see
+     * {@link ChunkedOutput}.
+     */
+    private void writeSwagger2Chunked(ConversionContext ctx, OutputStream out) throws IOException {
+        ConversionOptions options = ctx.getOptions();
+        Map<String, SectionWriter> sections = swagger2Sections(ctx);
+        ChunkedOutput chunks = new ChunkedOutput(ctx.getPool(), options.getSyntax());
+
+        ByteArrayOutputStream skeleton = chunks.newSkeleton();
+        try (JsonGenerator gen = createSwagger2Generator(options, skeleton)) {
+            gen.writeStartObject();
+            for (String name : sectionOrder(ctx, sections)) {
+                gen.writeFieldName(name);
+                if (sections.get(name) instanceof EntrySection<?> section && section.size() > 0) {
+                    gen.writeString(chunks.placeholder(gen, section.size(), (buffer, key, from, to) -> {
+                        try (JsonGenerator chunk = createSwagger2Generator(options, buffer)) {
+                            chunk.writeStartObject();
+                            chunk.writeFieldName(key);
+                            section.write(chunk, from, to, null);
+                            chunk.writeEndObject();
+                        }
+                    }));
+                } else {
+                    sections.get(name).write(gen, false);
+                }
+            }
+            gen.writeEndObject();
+        }
+        chunks.writeTo(skeleton, out);
+    }
+
+    private static List<String> sectionOrder(ConversionContext ctx, Map<String, SectionWriter> sections) {
+        ConversionOptions options = ctx.getOptions();
+        boolean alpha = options.getOrder() == FieldOrder.ALPHA || options.isDeterministic();
+        return alpha ? AlphaOrder.sortedKeys(sections) : new ArrayList<>(sections.keySet());
+    }
+
+    /**
+     * Sections of the Swagger 2 document, in document order.
+     */
+    private Map<String, SectionWriter> swagger2Sections(ConversionContext ctx) {
+        OpenAPI openAPI = ctx.getOpenAPI();
+        ConversionOptions options = ctx.getOptions();
+        boolean alpha = options.getOrder() == FieldOrder.ALPHA || options.isDeterministic();
         log.debug("Converting OpenAPI -> Swagger 2.0 (validation fix)");
 
-        ObjectNode swagger2 = jsonMapper.createObjectNode();
-        swagger2.put("swagger", "2.0");
+        // Only schemas referenced from several places are worth keeping for reuse
+        ctx.countSchemaUsages();
+
+        // Sections are registered in document order and converted only when written
+        Map<String, SectionWriter> sections = new LinkedHashMap<>();
+        sections.put("swagger", treeSection(TextNode.valueOf("2.0"), alpha));
 
         // Required info
         ObjectNode info = jsonMapper.createObjectNode();
@@ -77,60 +339,109 @@ public class FromOpenApiConverter {
             info.put("title", "API");
             info.put("version", "1.0.0");
         }
-        swagger2.set("info", info);
+        sections.put("info", treeSection(info, alpha));
 
         // Servers -> host, basePath, schemes
-        convertServersToHostAndBasePath(openAPI, swagger2);
+        ObjectNode server = jsonMapper.createObjectNode();
+        convertServersToHostAndBasePath(openAPI, server);
+        Iterator<Map.Entry<String, JsonNode>> serverFields = server.fields();
+        while (serverFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = serverFields.next();
+            sections.put(field.getKey(), treeSection(field.getValue(), alpha));
+        }
 
         // Paths
         if (openAPI.getPaths() != null && !openAPI.getPaths().isEmpty()) {
-            ObjectNode paths = convertPaths(openAPI.getPaths());
-            swagger2.set("paths", paths);
+            sections.put("paths", new EntrySection<>(openAPI.getPaths(),
+                (path, pathItem) -> convertPathItem(ctx, pathItem), alpha));
         }
 
         // Definitions
         if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
-            ObjectNode definitions = convertDefinitions(openAPI.getComponents().getSchemas());
-            swagger2.set("definitions", definitions);
+            Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+            sections.put("definitions", new EntrySection<>(schemas,
+                (name, schema) -> convertSchemaToSwagger2(ctx, schema), alpha));
         }
 
         // Global parameters
         if (openAPI.getComponents() != null && openAPI.getComponents().getParameters() != null) {
-            ObjectNode parameters = convertGlobalParameters(openAPI.getComponents().getParameters());
-            swagger2.set("parameters", parameters);
+            sections.put("parameters", new EntrySection<>(openAPI.getComponents().getParameters(),
+                (name, param) -> convertGlobalParameterDefinition(ctx, param), alpha));
         }
 
         // Global responses
         if (openAPI.getComponents() != null && openAPI.getComponents().getResponses() != null) {
-            ObjectNode responses = convertGlobalResponses(openAPI.getComponents().getResponses());
-            swagger2.set("responses", responses);
+            sections.put("responses", new EntrySection<>(openAPI.getComponents().getResponses(),
+                (name, response) -> convertGlobalResponse(ctx, name, response), alpha));
         }
+        return sections;
+    }
 
-        if (options.getSyntax() == OutputSyntax.YAML) {
-            return yamlMapper.writeValueAsString(swagger2);
+    /**
+     * Chains the entries of every entry section, in output order, into one queue converting
+     * them on {@code pool}. Returns null, converting nothing ahead, without a pool.
+     */
+    private static OrderedConversions<ObjectNode> convertAhead(ForkJoinPool pool, List<String> order,
+                                                               Map<String, SectionWriter> sections) {
+        if (pool == null) {
+            return null;
+        }
+
+        List<EntrySection<?>> entrySections = new ArrayList<>();
+        for (String name : order) {
+            if (sections.get(name) instanceof EntrySection<?> section) {
+                entrySections.add(section);
+            }
+        }
+        Iterator<Supplier<ObjectNode>> conversions = entrySections.stream()
+            .flatMap(EntrySection::conversions)
+            .iterator();
+        OrderedConversions<ObjectNode> queue = new OrderedConversions<>(pool, conversions,
+            pool.getParallelism() * ENTRIES_AHEAD_PER_THREAD);
+        entrySections.forEach(section -> section.queue = queue);
+        return queue;
+    }
+
+    private static void writeTree(JsonGenerator gen, JsonNode node, boolean alpha) throws IOException {
+        if (alpha) {
+            AlphaOrder.writeTree(gen, node);
         } else {
-            return jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger2);
+            gen.writeTree(node);
         }
     }
 
-    private ObjectNode convertPaths(io.swagger.v3.oas.models.Paths paths) {
-        ObjectNode swagger2Paths = jsonMapper.createObjectNode();
+    /**
+     * Swagger 2 bounds are written as doubles ({@code 1} becomes {@code 1.0}), or in their
+     * canonical decimal form for deterministic output.
+     */
+    private static void putBound(ConversionContext ctx, ObjectNode node, String name, BigDecimal value) {
+        if (ctx.getOptions().isDeterministic()) {
+            node.put(name, DeterministicOutput.canonical(value));
+        } else {
+            node.put(name, value.doubleValue());
+        }
+    }
 
-        paths.forEach((pathName, pathItem) -> {
-            ObjectNode swagger2PathItem = jsonMapper.createObjectNode();
+    /**
+     * Tree of a default or enum value, canonical in deterministic output like the bounds.
+     */
+    private JsonNode valueNode(ConversionContext ctx, Object value) {
+        JsonNode node = jsonMapper.valueToTree(value);
+        return ctx.getOptions().isDeterministic() ? DeterministicOutput.canonical(node) : node;
+    }
 
-            pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
-                ObjectNode swagger2Operation = convertOperation(operation);
-                swagger2PathItem.set(httpMethod.name().toLowerCase(), swagger2Operation);
-            });
+    private ObjectNode convertPathItem(ConversionContext ctx, PathItem pathItem) {
+        ObjectNode swagger2PathItem = jsonMapper.createObjectNode();
 
-            swagger2Paths.set(pathName, swagger2PathItem);
+        pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
+            ObjectNode swagger2Operation = convertOperation(ctx, operation, pathItem.getParameters());
+            swagger2PathItem.set(httpMethod.name().toLowerCase(), swagger2Operation);
         });
 
-        return swagger2Paths;
+        return swagger2PathItem;
     }
 
-    private ObjectNode convertOperation(Operation operation) {
+    private ObjectNode convertOperation(ConversionContext ctx, Operation operation, List<Parameter> pathParameters) {
         ObjectNode swagger2Op = jsonMapper.createObjectNode();
 
         if (operation.getSummary() != null) swagger2Op.put("summary", operation.getSummary());
@@ -146,29 +457,61 @@ public class FromOpenApiConverter {
         // Parameters with FIX for required 'type'
         ArrayNode parameters = jsonMapper.createArrayNode();
 
-        if (operation.getParameters() != null) {
-            for (Parameter param : operation.getParameters()) {
-                ObjectNode swagger2Param = convertParameterWithTypeRequired(param);
+        List<Parameter> operationParameters = withPathParameters(ctx, operation.getParameters(), pathParameters);
+        if (operationParameters != null) {
+            for (Parameter param : operationParameters) {
+                ObjectNode swagger2Param = convertParameterWithTypeRequired(ctx, param);
                 parameters.add(swagger2Param);
             }
         }
 
         // RequestBody -> body parameter
-        if (operation.getRequestBody() != null) {
-            ObjectNode bodyParam = convertRequestBodyToBodyParam(operation.getRequestBody());
+        RequestBody requestBody = operation.getRequestBody();
+        if (requestBody != null && requestBody.get$ref() != null) {
+            requestBody = ctx.resolveRequestBodyReference(requestBody.get$ref());
+        }
+        if (requestBody != null) {
+            ObjectNode bodyParam = convertRequestBodyToBodyParam(ctx, requestBody);
             if (bodyParam != null) parameters.add(bodyParam);
         }
 
         if (parameters.size() > 0) swagger2Op.set("parameters", parameters);
 
         // Responses with required description
-        ObjectNode responses = convertResponsesWithDescriptionRequired(operation.getResponses());
+        ObjectNode responses = convertResponsesWithDescriptionRequired(ctx, operation.getResponses());
         swagger2Op.set("responses", responses);
 
         return swagger2Op;
     }
 
-    private ObjectNode convertParameterWithTypeRequired(Parameter param) {
+    /**
+     * Path item parameters apply to every operation that does not redeclare them by name and
+     * location, and come first. The parser merges them into the operations when it resolves
+     * the source; otherwise they are merged here.
+     */
+    private static List<Parameter> withPathParameters(ConversionContext ctx, List<Parameter> operationParameters,
+                                                      List<Parameter> pathParameters) {
+        if (pathParameters == null || pathParameters.isEmpty()) return operationParameters;
+
+        List<Parameter> merged = new ArrayList<>();
+        for (Parameter pathParam : pathParameters) {
+            Parameter resolved = dereference(ctx, pathParam);
+            boolean redeclared = operationParameters != null && operationParameters.stream()
+                .map(param -> dereference(ctx, param))
+                .anyMatch(param -> resolved != null && param != null
+                    && resolved.getIn() != null && resolved.getIn().equals(param.getIn())
+                    && resolved.getName() != null && resolved.getName().equals(param.getName()));
+            if (!redeclared) merged.add(pathParam);
+        }
+        if (operationParameters != null) merged.addAll(operationParameters);
+        return merged;
+    }
+
+    private static Parameter dereference(ConversionContext ctx, Parameter param) {
+        return param.get$ref() != null ? ctx.resolveParameterReference(param.get$ref()) : param;
+    }
+
+    private ObjectNode convertParameterWithTypeRequired(ConversionContext ctx, Parameter param) {
         ObjectNode swagger2Param = jsonMapper.createObjectNode();
 
         // If the parameter has a $ref, return only the $ref (according to Swagger 2 specs)
@@ -184,7 +527,7 @@ public class FromOpenApiConverter {
 
         // Check if this parameter matches a global parameter
         // If yes, use a $ref instead of expanding properties
-        String matchingGlobalParam = findMatchingGlobalParameter(param);
+        String matchingGlobalParam = ctx.findMatchingGlobalParameter(param);
         if (matchingGlobalParam != null) {
             swagger2Param.put("$ref", "#/parameters/" + matchingGlobalParam);
             return swagger2Param;
@@ -202,7 +545,7 @@ public class FromOpenApiConverter {
             if (param.getSchema().get$ref() != null) {
                 // For parameters, the schema $ref must be resolved and converted to type
                 // Only parameters with direct $ref (not schema $ref) use $ref in Swagger 2
-                Schema<?> resolvedSchema = resolveSchemaReference(param.getSchema().get$ref());
+                Schema<?> resolvedSchema = ctx.resolveSchemaReference(param.getSchema().get$ref());
                 if (resolvedSchema != null) {
                     String type = resolvedSchema.getType();
                     if (type == null) type = "string";
@@ -212,13 +555,13 @@ public class FromOpenApiConverter {
                         swagger2Param.put("format", resolvedSchema.getFormat());
                     }
                     if (resolvedSchema.getDefault() != null) {
-                        swagger2Param.set("default", jsonMapper.valueToTree(resolvedSchema.getDefault()));
+                        swagger2Param.set("default", valueNode(ctx, resolvedSchema.getDefault()));
                     }
                     if (resolvedSchema.getMinimum() != null) {
-                        swagger2Param.put("minimum", resolvedSchema.getMinimum().doubleValue());
+                        putBound(ctx, swagger2Param, "minimum", resolvedSchema.getMinimum());
                     }
                     if (resolvedSchema.getMaximum() != null) {
-                        swagger2Param.put("maximum", resolvedSchema.getMaximum().doubleValue());
+                        putBound(ctx, swagger2Param, "maximum", resolvedSchema.getMaximum());
                     }
                 } else {
                     swagger2Param.put("type", "string");
@@ -233,13 +576,13 @@ public class FromOpenApiConverter {
                     swagger2Param.put("format", param.getSchema().getFormat());
                 }
                 if (param.getSchema().getDefault() != null) {
-                    swagger2Param.set("default", jsonMapper.valueToTree(param.getSchema().getDefault()));
+                    swagger2Param.set("default", valueNode(ctx, param.getSchema().getDefault()));
                 }
                 if (param.getSchema().getMinimum() != null) {
-                    swagger2Param.put("minimum", param.getSchema().getMinimum().doubleValue());
+                    putBound(ctx, swagger2Param, "minimum", param.getSchema().getMinimum());
                 }
                 if (param.getSchema().getMaximum() != null) {
-                    swagger2Param.put("maximum", param.getSchema().getMaximum().doubleValue());
+                    putBound(ctx, swagger2Param, "maximum", param.getSchema().getMaximum());
                 }
             }
         } else {
@@ -250,7 +593,7 @@ public class FromOpenApiConverter {
         return swagger2Param;
     }
 
-    private ObjectNode convertRequestBodyToBodyParam(RequestBody requestBody) {
+    private ObjectNode convertRequestBodyToBodyParam(ConversionContext ctx, RequestBody requestBody) {
         if (requestBody.getContent() == null || requestBody.getContent().isEmpty()) return null;
 
         ObjectNode bodyParam = jsonMapper.createObjectNode();
@@ -266,7 +609,7 @@ public class FromOpenApiConverter {
 
         requestBody.getContent().values().stream().findFirst().ifPresent(mediaType -> {
             if (mediaType.getSchema() != null) {
-                ObjectNode schema = convertSchemaToSwagger2(mediaType.getSchema());
+                ObjectNode schema = convertSchemaToSwagger2(ctx, mediaType.getSchema());
                 bodyParam.set("schema", schema);
             }
         });
@@ -274,14 +617,14 @@ public class FromOpenApiConverter {
         return bodyParam;
     }
 
-    private ObjectNode convertResponsesWithDescriptionRequired(ApiResponses responses) {
+    private ObjectNode convertResponsesWithDescriptionRequired(ConversionContext ctx, ApiResponses responses) {
         ObjectNode swagger2Responses = jsonMapper.createObjectNode();
 
         if (responses != null) {
             responses.forEach((code, response) -> {
                 // Resolve $ref
                 if (response.get$ref() != null) {
-                    ApiResponse resolved = resolveResponseReference(response.get$ref());
+                    ApiResponse resolved = ctx.resolveResponseReference(response.get$ref());
                     if (resolved != null) response = resolved;
                 }
 
@@ -297,7 +640,7 @@ public class FromOpenApiConverter {
                 if (response.getContent() != null && !response.getContent().isEmpty()) {
                     response.getContent().values().stream().findFirst().ifPresent(mediaType -> {
                         if (mediaType.getSchema() != null) {
-                            ObjectNode schema = convertSchemaToSwagger2(mediaType.getSchema());
+                            ObjectNode schema = convertSchemaToSwagger2(ctx, mediaType.getSchema());
                             swagger2Response.set("schema", schema);
                         }
                     });
@@ -310,29 +653,7 @@ public class FromOpenApiConverter {
         return swagger2Responses;
     }
 
-    private ObjectNode convertDefinitions(Map<String, Schema> schemas) {
-        ObjectNode definitions = jsonMapper.createObjectNode();
-
-        schemas.forEach((name, schema) -> {
-            ObjectNode swagger2Schema = convertSchemaToSwagger2(schema);
-            definitions.set(name, swagger2Schema);
-        });
-
-        return definitions;
-    }
-
-    private ObjectNode convertGlobalParameters(Map<String, Parameter> parameters) {
-        ObjectNode swagger2Params = jsonMapper.createObjectNode();
-
-        parameters.forEach((name, param) -> {
-            ObjectNode swagger2Param = convertGlobalParameterDefinition(param);
-            swagger2Params.set(name, swagger2Param);
-        });
-
-        return swagger2Params;
-    }
-
-    private ObjectNode convertGlobalParameterDefinition(Parameter param) {
+    private ObjectNode convertGlobalParameterDefinition(ConversionContext ctx, Parameter param) {
         ObjectNode swagger2Param = jsonMapper.createObjectNode();
 
         // For global definitions, never use $ref - always expand properties
@@ -346,7 +667,7 @@ public class FromOpenApiConverter {
         if (param.getSchema() != null) {
             if (param.getSchema().get$ref() != null) {
                 // Per i parametri, il $ref dello schema deve essere risolto e convertito in type
-                Schema<?> resolvedSchema = resolveSchemaReference(param.getSchema().get$ref());
+                Schema<?> resolvedSchema = ctx.resolveSchemaReference(param.getSchema().get$ref());
                 if (resolvedSchema != null) {
                     String type = resolvedSchema.getType();
                     if (type == null) type = "string";
@@ -356,13 +677,13 @@ public class FromOpenApiConverter {
                         swagger2Param.put("format", resolvedSchema.getFormat());
                     }
                     if (resolvedSchema.getDefault() != null) {
-                        swagger2Param.set("default", jsonMapper.valueToTree(resolvedSchema.getDefault()));
+                        swagger2Param.set("default", valueNode(ctx, resolvedSchema.getDefault()));
                     }
                     if (resolvedSchema.getMinimum() != null) {
-                        swagger2Param.put("minimum", resolvedSchema.getMinimum().doubleValue());
+                        putBound(ctx, swagger2Param, "minimum", resolvedSchema.getMinimum());
                     }
                     if (resolvedSchema.getMaximum() != null) {
-                        swagger2Param.put("maximum", resolvedSchema.getMaximum().doubleValue());
+                        putBound(ctx, swagger2Param, "maximum", resolvedSchema.getMaximum());
                     }
                 } else {
                     swagger2Param.put("type", "string");
@@ -377,13 +698,13 @@ public class FromOpenApiConverter {
                     swagger2Param.put("format", param.getSchema().getFormat());
                 }
                 if (param.getSchema().getDefault() != null) {
-                    swagger2Param.set("default", jsonMapper.valueToTree(param.getSchema().getDefault()));
+                    swagger2Param.set("default", valueNode(ctx, param.getSchema().getDefault()));
                 }
                 if (param.getSchema().getMinimum() != null) {
-                    swagger2Param.put("minimum", param.getSchema().getMinimum().doubleValue());
+                    putBound(ctx, swagger2Param, "minimum", param.getSchema().getMinimum());
                 }
                 if (param.getSchema().getMaximum() != null) {
-                    swagger2Param.put("maximum", param.getSchema().getMaximum().doubleValue());
+                    putBound(ctx, swagger2Param, "maximum", param.getSchema().getMaximum());
                 }
             }
         } else {
@@ -394,34 +715,38 @@ public class FromOpenApiConverter {
         return swagger2Param;
     }
 
-    private ObjectNode convertGlobalResponses(Map<String, ApiResponse> responses) {
-        ObjectNode swagger2Responses = jsonMapper.createObjectNode();
-
-        responses.forEach((name, response) -> {
-            ObjectNode swagger2Response = jsonMapper.createObjectNode();
+    private ObjectNode convertGlobalResponse(ConversionContext ctx, String name, ApiResponse response) {
+        ObjectNode swagger2Response = jsonMapper.createObjectNode();
 
-            String description = response.getDescription();
-            if (description == null || description.trim().isEmpty()) {
-                description = "Response " + name;
-            }
-            swagger2Response.put("description", description);
+        String description = response.getDescription();
+        if (description == null || description.trim().isEmpty()) {
+            description = "Response " + name;
+        }
+        swagger2Response.put("description", description);
 
-            if (response.getContent() != null && !response.getContent().isEmpty()) {
-                response.getContent().values().stream().findFirst().ifPresent(mediaType -> {
-                    if (mediaType.getSchema() != null) {
-                        ObjectNode schema = convertSchemaToSwagger2(mediaType.getSchema());
-                        swagger2Response.set("schema", schema);
-                    }
-                });
-            }
+        if (response.getContent() != null && !response.getContent().isEmpty()) {
+            response.getContent().values().stream().findFirst().ifPresent(mediaType -> {
+                if (mediaType.getSchema() != null) {
+                    ObjectNode schema = convertSchemaToSwagger2(ctx, mediaType.getSchema());
+                    swagger2Response.set("schema", schema);
+                }
+            });
+        }
 
-            swagger2Responses.set(name, swagger2Response);
-        });
+        return swagger2Response;
+    }
 
-        return swagger2Responses;
+    private ObjectNode convertSchemaToSwagger2(ConversionContext ctx, Schema<?> schema) {
+        // Flattened documents reference the same Schema instance from many places: convert it once
+        ObjectNode converted = ctx.getConvertedSchema(schema);
+        if (converted == null) {
+            converted = buildSwagger2Schema(ctx, schema);
+            ctx.putConvertedSchema(schema, converted);
+        }
+        return converted;
     }
 
-    private ObjectNode convertSchemaToSwagger2(Schema<?> schema) {
+    private ObjectNode buildSwagger2Schema(ConversionContext ctx, Schema<?> schema) {
         ObjectNode swagger2Schema = jsonMapper.createObjectNode();
 
         if (schema.get$ref() != null) {
@@ -437,8 +762,8 @@ public class FromOpenApiConverter {
         if (schema.getFormat() != null) swagger2Schema.put("format", schema.getFormat());
         if (schema.getDescription() != null) swagger2Schema.put("description", schema.getDescription());
 
-        if (schema.getMinimum() != null) swagger2Schema.put("minimum", schema.getMinimum().doubleValue());
-        if (schema.getMaximum() != null) swagger2Schema.put("maximum", schema.getMaximum().doubleValue());
+        if (schema.getMinimum() != null) putBound(ctx, swagger2Schema, "minimum", schema.getMinimum());
+        if (schema.getMaximum() != null) putBound(ctx, swagger2Schema, "maximum", schema.getMaximum());
         if (schema.getMinLength() != null) swagger2Schema.put("minLength", schema.getMinLength());
         if (schema.getMaxLength() != null) swagger2Schema.put("maxLength", schema.getMaxLength());
         if (schema.getPattern() != null) swagger2Schema.put("pattern", schema.getPattern());
@@ -453,21 +778,21 @@ public class FromOpenApiConverter {
         if (schema.getProperties() != null && !schema.getProperties().isEmpty()) {
             ObjectNode properties = jsonMapper.createObjectNode();
             schema.getProperties().forEach((propName, propSchema) -> {
-                ObjectNode propNode = convertSchemaToSwagger2(propSchema);
+                ObjectNode propNode = convertSchemaToSwagger2(ctx, propSchema);
                 properties.set(propName, propNode);
             });
             swagger2Schema.set("properties", properties);
         }
 
         if (schema.getItems() != null) {
-            ObjectNode items = convertSchemaToSwagger2(schema.getItems());
+            ObjectNode items = convertSchemaToSwagger2(ctx, schema.getItems());
             swagger2Schema.set("items", items);
         }
 
         if (schema.getAllOf() != null && !schema.getAllOf().isEmpty()) {
             ArrayNode allOf = jsonMapper.createArrayNode();
             schema.getAllOf().forEach(subSchema -> {
-                ObjectNode subNode = convertSchemaToSwagger2(subSchema);
+                ObjectNode subNode = convertSchemaToSwagger2(ctx, subSchema);
                 allOf.add(subNode);
             });
             swagger2Schema.set("allOf", allOf);
@@ -476,13 +801,13 @@ public class FromOpenApiConverter {
         if (schema.getEnum() != null && !schema.getEnum().isEmpty()) {
             ArrayNode enumArray = jsonMapper.createArrayNode();
             schema.getEnum().forEach(value -> {
-                enumArray.add(jsonMapper.valueToTree(value));
+                enumArray.add(valueNode(ctx, value));
             });
             swagger2Schema.set("enum", enumArray);
         }
 
         if (schema.getDefault() != null) {
-            swagger2Schema.set("default", jsonMapper.valueToTree(schema.getDefault()));
+            swagger2Schema.set("default", valueNode(ctx, schema.getDefault()));
         }
 
         return swagger2Schema;
@@ -542,67 +867,4 @@ public class FromOpenApiConverter {
             log.warn("Failed to parse server URL: " + serverUrl + " - " + e.getMessage());
         }
     }
-
-    // Risoluzione riferimenti
-    private Parameter resolveParameterReference(String ref) {
-        if (currentOpenAPI.getComponents() == null || currentOpenAPI.getComponents().getParameters() == null) return null;
-        String paramName = ref.substring(ref.lastIndexOf("/") + 1);
-        return currentOpenAPI.getComponents().getParameters().get(paramName);
-    }
-
-    private ApiResponse resolveResponseReference(String ref) {
-        if (currentOpenAPI.getComponents() == null || currentOpenAPI.getComponents().getResponses() == null) return null;
-        String responseName = ref.substring(ref.lastIndexOf("/") + 1);
-        return currentOpenAPI.getComponents().getResponses().get(responseName);
-    }
-
-    private Schema<?> resolveSchemaReference(String ref) {
-        if (currentOpenAPI.getComponents() == null || currentOpenAPI.getComponents().getSchemas() == null) return null;
-        String schemaName = ref.substring(ref.lastIndexOf("/") + 1);
-        return currentOpenAPI.getComponents().getSchemas().get(schemaName);
-    }
-
-    private String findMatchingGlobalParameter(Parameter param) {
-        if (currentOpenAPI.getComponents() == null || currentOpenAPI.getComponents().getParameters() == null) {
-            return null;
-        }
-
-        // Cerca un parametro globale che corrisponda esattamente a questo parametro
-        for (Map.Entry<String, Parameter> entry : currentOpenAPI.getComponents().getParameters().entrySet()) {
-            Parameter globalParam = entry.getValue();
-
-            // Confronta tutte le proprietà principali del parametro
-            if (parametersMatch(param, globalParam)) {
-                return entry.getKey();
-            }
-        }
-
-        return null;
-    }
-
-    private boolean parametersMatch(Parameter param1, Parameter param2) {
-        // Confronta nome, in, descrizione, required e schema
-        if (!java.util.Objects.equals(param1.getName(), param2.getName())) return false;
-        if (!java.util.Objects.equals(param1.getIn(), param2.getIn())) return false;
-        if (!java.util.Objects.equals(param1.getDescription(), param2.getDescription())) return false;
-        if (!java.util.Objects.equals(param1.getRequired(), param2.getRequired())) return false;
-
-        // Confronta schema
-        if (param1.getSchema() == null && param2.getSchema() == null) return true;
-        if (param1.getSchema() == null || param2.getSchema() == null) return false;
-
-        return schemasMatch(param1.getSchema(), param2.getSchema());
-    }
-
-    private boolean schemasMatch(Schema<?> schema1, Schema<?> schema2) {
-        // Confronta le proprietà principali del schema
-        if (!java.util.Objects.equals(schema1.getType(), schema2.getType())) return false;
-        if (!java.util.Objects.equals(schema1.getFormat(), schema2.getFormat())) return false;
-        if (!java.util.Objects.equals(schema1.get$ref(), schema2.get$ref())) return false;
-        if (!java.util.Objects.equals(schema1.getDefault(), schema2.getDefault())) return false;
-        if (!java.util.Objects.equals(schema1.getMinimum(), schema2.getMinimum())) return false;
-        if (!java.util.Objects.equals(schema1.getMaximum(), schema2.getMaximum())) return false;
-
-        return true;
-    }
-}
\ No newline at end of file
+}
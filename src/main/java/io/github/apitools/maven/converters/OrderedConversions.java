@@ -0,0 +1,64 @@
+package io.github.apitools.maven.converters;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Runs a sequence of conversions on a pool, at most {@code window} tasks ahead of the
+ * consumer, which takes the results in the order of the sequence. Memory stays bounded
+ * by the window while every worker is kept busy.
+ */
+final class OrderedConversions<T> implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final Iterator<? extends Supplier<T>> tasks;
+    private final int window;
+    private final Deque<CompletableFuture<T>> pending;
+
+    OrderedConversions(ForkJoinPool pool, Iterator<? extends Supplier<T>> tasks, int window) {
+        this.pool = pool;
+        this.tasks = tasks;
+        this.window = Math.max(1, window);
+        this.pending = new ArrayDeque<>(this.window);
+    }
+
+    /**
+     * Returns the result of the next conversion in the sequence, waiting for it if needed.
+     * A failed conversion rethrows its exception.
+     */
+    T next() {
+        while (tasks.hasNext() && pending.size() < window) {
+            pending.add(CompletableFuture.supplyAsync(tasks.next(), pool));
+        }
+        if (pending.isEmpty()) {
+            throw new NoSuchElementException("No conversions left");
+        }
+
+        try {
+            return pending.remove().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels the conversions not taken yet.
+     */
+    @Override
+    public void close() {
+        pending.forEach(task -> task.cancel(false));
+        pending.clear();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.apitools.maven.parsers;
+
+import io.github.apitools.maven.SpecFormat;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of parsed and flattened models, keyed by the hash of the
+ * source content and of the local files it references, the source format and the parse
+ * options. The shared instance lives
+ * as long as the plugin classloader, so modules of one reactor build that convert the
+ * same spec parse it only once.
+ * <p>
+ * Cached models are shared between conversions and threads and must not be modified:
+ * stages that need to change a model work on a copy, as filling missing fields does.
+ */
+public final class ModelCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 8;
+
+    private static final ModelCache SHARED = new ModelCache(DEFAULT_MAX_ENTRIES);
+
+    private final LinkedHashMap<Key, OpenAPI> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxEntries;
+    private long hits;
+    private long misses;
+
+    public ModelCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public static ModelCache shared() {
+        return SHARED;
+    }
+
+    public record Key(String contentHash, SpecFormat format, String parseOptions) {
+
+        public static Key of(String contentHash, SpecFormat format, ParseOptions options) {
+            return new Key(contentHash, format, describe(options));
+        }
+    }
+
+    /**
+     * Returns the cached model for {@code key}, or null. The model must not be modified.
+     */
+    public synchronized OpenAPI get(Key key) {
+        OpenAPI openAPI = entries.get(key);
+        if (openAPI != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return openAPI;
+    }
+
+    public synchronized void put(Key key, OpenAPI openAPI) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(key, openAPI);
+        evict();
+    }
+
+    /**
+     * Changes the maximum number of models kept, evicting the least recently used ones.
+     */
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, OpenAPI>> eldest = entries.entrySet().iterator();
+        while (entries.size() > Math.max(maxEntries, 0) && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Canonical description of the parse options that change the parsed model.
+     */
+    static String describe(ParseOptions options) {
+        return "resolve=" + options.isResolve() +
+            ";resolveFully=" + options.isResolveFully() +
+            ";flatten=" + options.isFlatten() +
+            ";flattenComposedSchemas=" + options.isFlattenComposedSchemas() +
+            ";camelCaseFlattenNaming=" + options.isCamelCaseFlattenNaming() +
+            ";skipMatches=" + options.isSkipMatches();
+    }
+}
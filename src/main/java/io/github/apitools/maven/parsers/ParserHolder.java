@@ -0,0 +1,115 @@
+package io.github.apitools.maven.parsers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.extensions.SwaggerParserExtension;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.DeserializationUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Parser infrastructure shared by every conversion in the plugin classloader.
+ * {@code OpenAPIParser} looks up its extensions through a fresh ServiceLoader on each
+ * call; here they are discovered once and the Jackson mappers are built once.
+ * Everything exposed is safe to use from several threads.
+ */
+public final class ParserHolder {
+
+    // OpenAPIV3Parser keeps no per-document state, so a single instance is shared
+    private static final OpenAPIV3Parser OPENAPI_V3_PARSER = new OpenAPIV3Parser();
+
+    // Other extensions (e.g. the Swagger 2 converter) hold document state: one instance per call
+    private static final List<Supplier<SwaggerParserExtension>> EXTENSIONS = loadExtensions();
+
+    private static final ObjectMapper JSON_MAPPER = Json.mapper();
+
+    // Same YAML limits (aliases, code points) the swagger parser applies to text input
+    private static final YAMLMapper YAML_MAPPER = new YAMLMapper(YAMLFactory.builder()
+        .loaderOptions(DeserializationUtils.buildLoaderOptions())
+        .build());
+
+    // Conversion options indexed by resolve (bit 1) and flatten (bit 0)
+    private static final ParseOptions[] CONVERSION_OPTIONS = {
+        parseOptions(false, false), parseOptions(false, true), parseOptions(true, false), parseOptions(true, true)
+    };
+    private static final ParseOptions VALIDATION_OPTIONS = parseOptions(false, false);
+
+    private ParserHolder() {
+    }
+
+    private static ParseOptions parseOptions(boolean resolve, boolean flatten) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(resolve);
+        options.setFlatten(flatten);
+        return options;
+    }
+
+    private static List<Supplier<SwaggerParserExtension>> loadExtensions() {
+        List<Supplier<SwaggerParserExtension>> extensions = new ArrayList<>();
+        extensions.add(() -> OPENAPI_V3_PARSER);
+
+        ServiceLoader.load(SwaggerParserExtension.class, ParserHolder.class.getClassLoader()).stream()
+            .filter(provider -> provider.type() != OpenAPIV3Parser.class)
+            .forEach(extensions::add);
+
+        return Collections.unmodifiableList(extensions);
+    }
+
+    /**
+     * Same as {@code new OpenAPIParser().readContents(content, null, options)}: the first
+     * extension that produces a model wins, otherwise the last result is returned.
+     */
+    public static SwaggerParseResult readContents(String content, ParseOptions options) {
+        SwaggerParseResult result = null;
+        for (Supplier<SwaggerParserExtension> extension : EXTENSIONS) {
+            result = extension.get().readContents(content, null, options);
+            if (result != null && result.getOpenAPI() != null) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    public static OpenAPIV3Parser openApiV3Parser() {
+        return OPENAPI_V3_PARSER;
+    }
+
+    public static ObjectMapper jsonMapper() {
+        return JSON_MAPPER;
+    }
+
+    public static YAMLMapper yamlMapper() {
+        return YAML_MAPPER;
+    }
+
+    /**
+     * Options used to read a source for conversion (resolve and flatten). Shared: do not modify.
+     */
+    public static ParseOptions conversionOptions() {
+        return conversionOptions(true, true);
+    }
+
+    /**
+     * Options used to read a source for conversion with the given resolution and flattening.
+     * Shared: do not modify.
+     */
+    public static ParseOptions conversionOptions(boolean resolve, boolean flatten) {
+        return CONVERSION_OPTIONS[(resolve ? 2 : 0) + (flatten ? 1 : 0)];
+    }
+
+    /**
+     * Options used to validate converted output (no resolution). Shared: do not modify.
+     */
+    public static ParseOptions validationOptions() {
+        return VALIDATION_OPTIONS;
+    }
+}
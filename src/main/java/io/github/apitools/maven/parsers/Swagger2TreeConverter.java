@@ -0,0 +1,971 @@
+package io.github.apitools.maven.parsers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts a Swagger 2.0 document tree into the OpenAPI 3.0 tree that swagger-parser's
+ * v2 pipeline (v2 parser, resolver, converter, then {@code valueToTree}) would produce,
+ * in a single pass and without building the v2 or intermediate v3 models.
+ * <p>
+ * Only constructs whose legacy conversion is known are handled: anything else (form
+ * parameters, external references, values the legacy converter coerces or drops, keys
+ * it reports as unsupported, ...) raises {@link UnsupportedException} so the caller can
+ * fall back to the legacy pipeline and keep its exact output.
+ */
+final class Swagger2TreeConverter {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static final String DEFINITIONS_PREFIX = "#/definitions/";
+    private static final String PARAMETERS_PREFIX = "#/parameters/";
+    private static final String RESPONSES_PREFIX = "#/responses/";
+
+    private static final Set<String> METHODS = Set.of("get", "put", "post", "delete", "options", "head", "patch");
+
+    // Pattern the legacy converter adds to every byte-formatted string property
+    private static final String BASE64_PATTERN = "^(?:[A-Za-z0-9+/]{4})*(?:[A-Za-z0-9+/]{2}==|[A-Za-z0-9+/]{3}=)?$";
+
+    /** Where a schema appears: the legacy converter builds each one from a different v2 type. */
+    private enum Position { MODEL, PROPERTY, PARAMETER, HEADER }
+
+    private final JsonNode source;
+    private final JsonNode globalParameters;
+    private final JsonNode globalResponses;
+    private final JsonNode globalConsumes;
+    private final JsonNode globalProduces;
+
+    private Swagger2TreeConverter(JsonNode source) {
+        this.source = source;
+        this.globalParameters = source.path("parameters");
+        this.globalResponses = source.path("responses");
+        this.globalConsumes = source.get("consumes");
+        this.globalProduces = source.get("produces");
+    }
+
+    /**
+     * Converts {@code swagger}, a Swagger 2.0 document, resolving parameter and response
+     * references the way {@code SwaggerResolver} does.
+     *
+     * @throws UnsupportedException if the document uses a construct this converter does not handle
+     */
+    static ObjectNode convert(JsonNode swagger) throws UnsupportedException {
+        if (!swagger.isObject() || !"2.0".equals(swagger.path("swagger").textValue())) {
+            throw new UnsupportedException("swagger version");
+        }
+        return new Swagger2TreeConverter(swagger).document();
+    }
+
+    private ObjectNode document() throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        result.put("openapi", "3.0.1");
+
+        for (Iterator<Map.Entry<String, JsonNode>> fields = source.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "swagger", "host", "basePath", "schemes", "consumes", "produces", "paths", "definitions",
+                     "parameters", "responses", "securityDefinitions" -> {
+                    // Converted below, once the whole root has been checked
+                }
+                case "info" -> result.set("info", info(value));
+                case "externalDocs" -> result.set("externalDocs", externalDocs(value));
+                case "security" -> result.set("security", security(value));
+                case "tags" -> result.set("tags", tags(value));
+                default -> extension(extensions, key, value);
+            }
+        }
+        if (!result.has("info")) {
+            throw new UnsupportedException("info");
+        }
+
+        result.set("servers", servers());
+        result.set("paths", paths(object(source.get("paths"), "paths")));
+
+        // The legacy converter always creates the schemas, even without definitions
+        ObjectNode components = NODES.objectNode();
+        ObjectNode schemas = components.putObject("schemas");
+        if (source.has("definitions")) {
+            for (Map.Entry<String, JsonNode> entry : entries(source.get("definitions"), "definitions")) {
+                schemas.set(entry.getKey(), schema(entry.getValue(), Position.MODEL));
+            }
+        }
+        if (source.has("responses")) {
+            ObjectNode responses = components.putObject("responses");
+            for (Map.Entry<String, JsonNode> entry : entries(globalResponses, "responses")) {
+                responses.set(entry.getKey(), response(entry.getValue(), globalProduces));
+            }
+        }
+        if (source.has("parameters")) {
+            ObjectNode parameters = components.putObject("parameters");
+            for (Map.Entry<String, JsonNode> entry : entries(globalParameters, "parameters")) {
+                if ("body".equals(entry.getValue().path("in").textValue())) {
+                    throw new UnsupportedException("body parameter " + entry.getKey());
+                }
+                parameters.set(entry.getKey(), parameter(entry.getValue()));
+            }
+        }
+        if (source.has("securityDefinitions")) {
+            ObjectNode schemes = components.putObject("securitySchemes");
+            for (Map.Entry<String, JsonNode> entry : entries(source.get("securityDefinitions"), "securityDefinitions")) {
+                schemes.set(entry.getKey(), securityScheme(entry.getValue()));
+            }
+        }
+        result.set("components", components);
+
+        result.setAll(extensions);
+        result.put("x-original-swagger-version", "2.0");
+        return result;
+    }
+
+    // Document level
+
+    private static ObjectNode info(JsonNode info) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(info, "info")) {
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "title", "description", "termsOfService", "version" -> result.put(key, text(value, key));
+                case "contact" -> result.set(key, copyTexts(value, "contact", Set.of("name", "url", "email"), false));
+                case "license" -> result.set(key, copyTexts(value, "license", Set.of("name", "url"), true));
+                default -> extension(result, key, value);
+            }
+        }
+        if (!result.has("title") || !result.has("version")) {
+            throw new UnsupportedException("info without title or version");
+        }
+        return result;
+    }
+
+    private static ObjectNode externalDocs(JsonNode docs) throws UnsupportedException {
+        return copyTexts(docs, "externalDocs", Set.of("description", "url"), true);
+    }
+
+    /**
+     * Copies the text fields in {@code names}. Other keys are unsupported, except extensions
+     * when {@code strict} is false: the legacy converter drops those.
+     */
+    private static ObjectNode copyTexts(JsonNode node, String what, Set<String> names, boolean strict)
+            throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(node, what)) {
+            if (names.contains(field.getKey())) {
+                result.put(field.getKey(), text(field.getValue(), field.getKey()));
+            } else if (strict || !isExtension(field.getKey())) {
+                throw new UnsupportedException(what + "." + field.getKey());
+            }
+        }
+        return result;
+    }
+
+    private static ArrayNode security(JsonNode security) throws UnsupportedException {
+        ArrayNode result = NODES.arrayNode();
+        for (JsonNode requirement : array(security, "security")) {
+            ObjectNode converted = result.addObject();
+            for (Map.Entry<String, JsonNode> entry : entries(requirement, "security")) {
+                converted.set(entry.getKey(), texts(entry.getValue(), "scopes"));
+            }
+        }
+        return result;
+    }
+
+    private static ArrayNode tags(JsonNode tags) throws UnsupportedException {
+        ArrayNode result = NODES.arrayNode();
+        for (JsonNode tag : array(tags, "tags")) {
+            ObjectNode converted = result.addObject();
+            for (Map.Entry<String, JsonNode> field : entries(tag, "tag")) {
+                String key = field.getKey();
+                switch (key) {
+                    case "name", "description" -> converted.put(key, text(field.getValue(), key));
+                    case "externalDocs" -> converted.set(key, externalDocs(field.getValue()));
+                    default -> extension(converted, key, field.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private ArrayNode servers() throws UnsupportedException {
+        String host = source.has("host") ? text(source.get("host"), "host") : null;
+        String basePath = source.has("basePath") ? text(source.get("basePath"), "basePath") : null;
+        List<String> schemes = new ArrayList<>();
+        if (source.has("schemes")) {
+            for (JsonNode scheme : array(source.get("schemes"), "schemes")) {
+                String name = text(scheme, "scheme");
+                if (!name.equals("http") && !name.equals("https")) {
+                    throw new UnsupportedException("scheme " + name);
+                }
+                schemes.add(name);
+            }
+        }
+
+        String baseUrl = basePath != null && !basePath.isEmpty() ? basePath : "/";
+        if (host != null && !host.isEmpty()) {
+            baseUrl = host + baseUrl;
+        }
+
+        ArrayNode servers = NODES.arrayNode();
+        if (!baseUrl.startsWith("/") && !schemes.isEmpty()) {
+            for (String scheme : schemes) {
+                servers.addObject().put("url", scheme + "://" + baseUrl);
+            }
+        } else {
+            servers.addObject().put("url", baseUrl.startsWith("/") ? baseUrl : "//" + baseUrl);
+        }
+        return servers;
+    }
+
+    private static ObjectNode securityScheme(JsonNode scheme) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        String type = text(scheme.get("type"), "securityDefinitions.type");
+        switch (type) {
+            case "apiKey" -> {
+                result.put("type", "apiKey");
+                putText(result, scheme, "description");
+                result.put("name", text(scheme.get("name"), "apiKey.name"));
+                result.put("in", text(scheme.get("in"), "apiKey.in"));
+                expectOnly(scheme, "apiKey", "type", "description", "name", "in");
+            }
+            case "basic" -> {
+                result.put("type", "http");
+                putText(result, scheme, "description");
+                result.put("scheme", "basic");
+                expectOnly(scheme, "basic", "type", "description");
+            }
+            case "oauth2" -> {
+                result.put("type", "oauth2");
+                putText(result, scheme, "description");
+                String flowName = switch (text(scheme.get("flow"), "oauth2.flow")) {
+                    case "accessCode" -> "authorizationCode";
+                    case "implicit" -> "implicit";
+                    case "password" -> "password";
+                    case "application" -> "clientCredentials";
+                    default -> throw new UnsupportedException("oauth2 flow");
+                };
+                ObjectNode flow = result.putObject("flows").putObject(flowName);
+                putText(flow, scheme, "authorizationUrl");
+                putText(flow, scheme, "tokenUrl");
+                ObjectNode scopes = flow.putObject("scopes");
+                for (Map.Entry<String, JsonNode> entry : entries(scheme.get("scopes"), "scopes")) {
+                    scopes.put(entry.getKey(), text(entry.getValue(), "scope"));
+                }
+                expectOnly(scheme, "oauth2", "type", "description", "flow", "authorizationUrl", "tokenUrl", "scopes");
+            }
+            default -> throw new UnsupportedException("security scheme type " + type);
+        }
+        return result;
+    }
+
+    // Paths
+
+    private ObjectNode paths(JsonNode paths) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> entry : entries(paths, "paths")) {
+            if (!entry.getKey().startsWith("/")) {
+                // The v2 parser reports paths-level extensions as unsupported
+                throw new UnsupportedException("paths." + entry.getKey());
+            }
+            result.set(entry.getKey(), pathItem(entry.getValue()));
+        }
+        return result;
+    }
+
+    private ObjectNode pathItem(JsonNode pathItem) throws UnsupportedException {
+        List<JsonNode> shared = pathItem.has("parameters")
+            ? resolveParameters(pathItem.get("parameters"))
+            : List.of();
+
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(pathItem, "path item")) {
+            String key = field.getKey();
+            if (METHODS.contains(key)) {
+                result.set(key, operation(field.getValue(), shared));
+            } else if (!key.equals("parameters")) {
+                extension(extensions, key, field.getValue());
+            }
+        }
+        result.setAll(extensions);
+        return result;
+    }
+
+    private ObjectNode operation(JsonNode operation, List<JsonNode> shared) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        JsonNode consumes = operation.has("consumes") ? operation.get("consumes") : globalConsumes;
+        JsonNode produces = operation.has("produces") ? operation.get("produces") : globalProduces;
+
+        for (Map.Entry<String, JsonNode> field : entries(operation, "operation")) {
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "tags" -> result.set(key, texts(value, key));
+                case "summary", "description", "operationId" -> result.put(key, text(value, key));
+                case "externalDocs" -> result.set(key, externalDocs(value));
+                case "deprecated" -> result.put(key, bool(value, key));
+                case "security" -> result.set(key, security(value));
+                case "consumes", "produces" -> texts(value, key);
+                case "parameters", "responses" -> {
+                    // Converted below
+                }
+                default -> extension(extensions, key, value);
+            }
+        }
+
+        // SwaggerResolver puts the path item parameters first, unless the operation overrides them
+        List<JsonNode> own = operation.has("parameters") ? resolveParameters(operation.get("parameters")) : List.of();
+        List<JsonNode> parameters = new ArrayList<>(shared.size() + own.size());
+        for (JsonNode candidate : shared) {
+            if (own.stream().noneMatch(parameter -> sameParameter(parameter, candidate))) {
+                parameters.add(candidate);
+            }
+        }
+        parameters.addAll(own);
+
+        ArrayNode converted = NODES.arrayNode();
+        JsonNode body = null;
+        for (JsonNode parameter : parameters) {
+            if ("body".equals(parameter.path("in").textValue())) {
+                if (body != null) {
+                    throw new UnsupportedException("several body parameters");
+                }
+                body = parameter;
+            } else {
+                converted.add(parameter(parameter));
+            }
+        }
+        if (!converted.isEmpty()) {
+            result.set("parameters", converted);
+        }
+        if (body != null) {
+            result.set("requestBody", requestBody(body, consumes));
+            extensions.put("x-codegen-request-body-name", text(body.get("name"), "body.name"));
+        }
+
+        ObjectNode responses = result.putObject("responses");
+        for (Map.Entry<String, JsonNode> entry : entries(operation.get("responses"), "responses")) {
+            responses.set(entry.getKey(), response(resolveResponse(entry.getValue()), produces));
+        }
+        if (responses.isEmpty()) {
+            throw new UnsupportedException("operation without responses");
+        }
+
+        result.setAll(extensions);
+        return result;
+    }
+
+    private List<JsonNode> resolveParameters(JsonNode parameters) throws UnsupportedException {
+        List<JsonNode> resolved = new ArrayList<>();
+        for (JsonNode parameter : array(parameters, "parameters")) {
+            JsonNode target = parameter.has("$ref")
+                ? reference(parameter, PARAMETERS_PREFIX, globalParameters)
+                : parameter;
+            text(target.get("name"), "parameter.name");
+            text(target.get("in"), "parameter.in");
+            for (JsonNode other : resolved) {
+                if (sameParameter(other, target)) {
+                    throw new UnsupportedException("duplicate parameter " + target.get("name").textValue());
+                }
+            }
+            resolved.add(target);
+        }
+        return resolved;
+    }
+
+    private JsonNode resolveResponse(JsonNode response) throws UnsupportedException {
+        return response.has("$ref") ? reference(response, RESPONSES_PREFIX, globalResponses) : response;
+    }
+
+    private static JsonNode reference(JsonNode node, String prefix, JsonNode targets) throws UnsupportedException {
+        if (node.size() != 1) {
+            throw new UnsupportedException("$ref with siblings");
+        }
+        String ref = text(node.get("$ref"), "$ref");
+        JsonNode target = ref.startsWith(prefix) ? targets.get(ref.substring(prefix.length())) : null;
+        if (target == null || !target.isObject() || target.has("$ref")) {
+            throw new UnsupportedException("$ref " + ref);
+        }
+        return target;
+    }
+
+    private static boolean sameParameter(JsonNode a, JsonNode b) {
+        return a.get("name").equals(b.get("name")) && a.get("in").equals(b.get("in"));
+    }
+
+    // Parameters, bodies and responses
+
+    private static ObjectNode parameter(JsonNode parameter) throws UnsupportedException {
+        String in = text(parameter.get("in"), "parameter.in");
+        if (!in.equals("query") && !in.equals("header") && !in.equals("path")) {
+            throw new UnsupportedException("parameter in " + in);
+        }
+
+        ObjectNode result = NODES.objectNode();
+        ObjectNode schema = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        result.put("name", text(parameter.get("name"), "parameter.name"));
+        result.put("in", in);
+
+        for (Map.Entry<String, JsonNode> field : entries(parameter, "parameter")) {
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "name", "in", "collectionFormat" -> {
+                    // Handled around the loop
+                }
+                case "description" -> result.put(key, text(value, key));
+                case "required" -> {
+                    if (bool(value, key)) {
+                        result.put(key, true);
+                    }
+                }
+                case "allowEmptyValue" -> result.put(key, bool(value, key));
+                default -> {
+                    if (isExtension(key)) {
+                        if (key.equals("x-example") || key.equals("x-nullable")) {
+                            throw new UnsupportedException(key);
+                        }
+                        extensions.set(key, value);
+                    } else {
+                        schemaKeyword(schema, key, value, parameter, Position.PARAMETER);
+                    }
+                }
+            }
+        }
+        if (in.equals("path") && !result.has("required")) {
+            throw new UnsupportedException("optional path parameter");
+        }
+
+        String type = text(parameter.get("type"), "parameter.type");
+        if (type.equals("array")) {
+            if (!in.equals("query")) {
+                throw new UnsupportedException("array parameter in " + in);
+            }
+            String format = parameter.has("collectionFormat")
+                ? text(parameter.get("collectionFormat"), "collectionFormat")
+                : "csv";
+            switch (format) {
+                case "csv" -> result.put("style", "form").put("explode", false);
+                case "multi" -> result.put("style", "form").put("explode", true);
+                case "pipes" -> result.put("style", "pipeDelimited");
+                case "ssv" -> result.put("style", "spaceDelimited");
+                case "tsv" -> {
+                    // No OpenAPI 3 style: the legacy converter leaves it out
+                }
+                default -> throw new UnsupportedException("collectionFormat " + format);
+            }
+        } else if (parameter.has("collectionFormat")) {
+            throw new UnsupportedException("collectionFormat on " + type);
+        }
+
+        schema.setAll(extensions);
+        result.set("schema", schema);
+        result.setAll(extensions);
+        return result;
+    }
+
+    private static ObjectNode requestBody(JsonNode body, JsonNode consumes) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        JsonNode schema = null;
+        boolean required = false;
+        for (Map.Entry<String, JsonNode> field : entries(body, "body parameter")) {
+            String key = field.getKey();
+            switch (key) {
+                case "name", "in" -> {
+                    // Checked by the caller
+                }
+                case "description" -> result.put(key, text(field.getValue(), key));
+                case "required" -> required = bool(field.getValue(), key);
+                case "schema" -> schema = schema(field.getValue(), Position.MODEL);
+                default -> extension(extensions, key, field.getValue());
+            }
+        }
+        if (schema == null) {
+            throw new UnsupportedException("body parameter without schema");
+        }
+
+        ObjectNode content = result.putObject("content");
+        for (JsonNode mediaType : mediaTypes(consumes, "consumes")) {
+            content.putObject(mediaType.textValue()).set("schema", schema.deepCopy());
+        }
+        result.put("required", required);
+        result.setAll(extensions);
+        return result;
+    }
+
+    private static ObjectNode response(JsonNode response, JsonNode produces) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        JsonNode schema = null;
+        JsonNode examples = null;
+        // The legacy converter collects headers in a HashMap, which decides their order
+        Map<String, JsonNode> headers = null;
+
+        for (Map.Entry<String, JsonNode> field : entries(response, "response")) {
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "description" -> result.put(key, text(value, key));
+                case "schema" -> schema = schema(value, Position.MODEL);
+                case "examples" -> examples = object(value, key);
+                case "headers" -> {
+                    headers = new HashMap<>();
+                    for (Map.Entry<String, JsonNode> header : entries(value, key)) {
+                        headers.put(header.getKey(), header(header.getValue()));
+                    }
+                }
+                default -> extension(extensions, key, value);
+            }
+        }
+        if (!result.has("description")) {
+            throw new UnsupportedException("response without description");
+        }
+
+        if (headers != null) {
+            result.putObject("headers").setAll(headers);
+        }
+        ObjectNode content = result.putObject("content");
+        if (schema != null) {
+            for (JsonNode mediaType : mediaTypes(produces, "produces")) {
+                ObjectNode media = content.putObject(mediaType.textValue());
+                media.set("schema", schema.deepCopy());
+                if (examples != null && examples.has(mediaType.textValue())) {
+                    media.set("example", examples.get(mediaType.textValue()));
+                }
+            }
+        }
+        if (examples != null) {
+            for (Iterator<String> names = examples.fieldNames(); names.hasNext(); ) {
+                if (!content.has(names.next())) {
+                    throw new UnsupportedException("example without a produced media type");
+                }
+            }
+        }
+        result.setAll(extensions);
+        return result;
+    }
+
+    private static ObjectNode header(JsonNode header) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        ObjectNode schema = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(header, "header")) {
+            String key = field.getKey();
+            if (key.equals("description")) {
+                result.put(key, text(field.getValue(), key));
+            } else if (isExtension(key) || key.equals("collectionFormat")) {
+                throw new UnsupportedException("header." + key);
+            } else {
+                schemaKeyword(schema, key, field.getValue(), header, Position.HEADER);
+            }
+        }
+        text(header.get("type"), "header.type");
+        result.set("schema", schema);
+        return result;
+    }
+
+    private static ArrayNode mediaTypes(JsonNode mediaTypes, String what) throws UnsupportedException {
+        ArrayNode types = array(mediaTypes, what);
+        if (types.isEmpty()) {
+            throw new UnsupportedException("no " + what + " media type");
+        }
+        for (JsonNode type : types) {
+            text(type, what);
+        }
+        return types;
+    }
+
+    // Schemas
+
+    private static ObjectNode schema(JsonNode schema, Position position) throws UnsupportedException {
+        object(schema, "schema");
+        if (schema.has("$ref")) {
+            // Property references drop their siblings; model references must not have any
+            if (position == Position.MODEL && schema.size() != 1) {
+                throw new UnsupportedException("$ref with siblings");
+            }
+            return NODES.objectNode().put("$ref", schemaRef(text(schema.get("$ref"), "$ref")));
+        }
+        if (schema.has("allOf")) {
+            return composed(schema, position);
+        }
+
+        ObjectNode result = NODES.objectNode();
+        ObjectNode extensions = NODES.objectNode();
+        String type = schema.has("type") ? text(schema.get("type"), "type") : null;
+        if (type == null) {
+            // Untyped models are read as objects
+            if (position != Position.MODEL || schema.has("format") || schema.has("items")) {
+                throw new UnsupportedException("schema without type");
+            }
+            type = "object";
+            result.put("type", type);
+        }
+
+        for (Map.Entry<String, JsonNode> field : entries(schema, "schema")) {
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            switch (key) {
+                case "title", "description" -> result.put(key, text(value, key));
+                case "required" -> result.set(key, texts(value, key));
+                case "properties" -> {
+                    ObjectNode properties = result.putObject(key);
+                    for (Map.Entry<String, JsonNode> property : entries(value, key)) {
+                        properties.set(property.getKey(), schema(property.getValue(), Position.PROPERTY));
+                    }
+                }
+                case "additionalProperties" -> {
+                    if (value.isBoolean() && value.booleanValue() && position == Position.MODEL) {
+                        result.put(key, true);
+                    } else if (value.isObject()) {
+                        result.set(key, schema(value, Position.PROPERTY));
+                    } else {
+                        throw new UnsupportedException("additionalProperties " + value);
+                    }
+                }
+                case "discriminator" -> {
+                    if (position != Position.MODEL) {
+                        throw new UnsupportedException("property discriminator");
+                    }
+                    result.putObject(key).put("propertyName", text(value, key));
+                }
+                case "readOnly" -> {
+                    if (position != Position.PROPERTY) {
+                        throw new UnsupportedException("model readOnly");
+                    }
+                    if (!bool(value, key)) {
+                        throw new UnsupportedException("readOnly false");
+                    }
+                    result.put(key, true);
+                }
+                case "xml" -> result.set(key, xml(value));
+                case "x-nullable" -> {
+                    if (position != Position.PROPERTY) {
+                        throw new UnsupportedException("model x-nullable");
+                    }
+                    if (!bool(value, key)) {
+                        throw new UnsupportedException("x-nullable false");
+                    }
+                    result.put("nullable", true);
+                }
+                case "items" -> result.set(key, schema(value, Position.PROPERTY));
+                case "example" -> {
+                    if (type.equals("object") || type.equals("array")) {
+                        if (position != Position.MODEL) {
+                            throw new UnsupportedException("structured property example");
+                        }
+                        result.set(key, value);
+                    } else {
+                        result.set(key, value(value, schema, key));
+                    }
+                }
+                default -> {
+                    if (isExtension(key)) {
+                        if (key.equals("x-example")) {
+                            throw new UnsupportedException(key);
+                        }
+                        extensions.set(key, value);
+                    } else {
+                        schemaKeyword(result, key, value, schema, position);
+                    }
+                }
+            }
+        }
+
+        switch (type) {
+            case "object" -> {
+                if (schema.has("items") || schema.has("format")) {
+                    throw new UnsupportedException("object schema keywords");
+                }
+                boolean properties = result.has("properties");
+                boolean additional = result.has("additionalProperties");
+                if (properties && additional && (position != Position.MODEL || !schema.get("additionalProperties").isBoolean())) {
+                    throw new UnsupportedException("properties with additionalProperties");
+                }
+                if (position == Position.PROPERTY && !properties && !additional) {
+                    result.putObject("properties");
+                }
+            }
+            case "array" -> {
+                if (!result.has("items")) {
+                    throw new UnsupportedException("array without items");
+                }
+            }
+            case "file" -> {
+                if (position != Position.PROPERTY || schema.size() != 1) {
+                    throw new UnsupportedException("file schema");
+                }
+                result.put("format", "binary");
+            }
+            default -> {
+                if (schema.has("properties") || schema.has("additionalProperties") || schema.has("items")) {
+                    throw new UnsupportedException(type + " schema with object keywords");
+                }
+                if (position == Position.PROPERTY && "byte".equals(schema.path("format").textValue())) {
+                    result.put("pattern", BASE64_PATTERN);
+                }
+            }
+        }
+        if (type.equals("object") || type.equals("array")) {
+            for (String key : new String[] {"default", "enum"}) {
+                if (schema.has(key)) {
+                    throw new UnsupportedException(type + " " + key);
+                }
+            }
+        }
+        if (!type.equals("object") && (schema.has("discriminator") || schema.has("required"))) {
+            throw new UnsupportedException(type + " schema with object keywords");
+        }
+        result.setAll(extensions);
+        return result;
+    }
+
+    private static ObjectNode composed(JsonNode schema, Position position) throws UnsupportedException {
+        if (position != Position.MODEL) {
+            throw new UnsupportedException("composed property");
+        }
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(schema, "schema")) {
+            String key = field.getKey();
+            switch (key) {
+                case "allOf" -> {
+                    ArrayNode allOf = result.putArray(key);
+                    for (JsonNode member : array(field.getValue(), key)) {
+                        allOf.add(schema(member, Position.MODEL));
+                    }
+                }
+                case "description" -> result.put(key, text(field.getValue(), key));
+                case "discriminator" -> text(field.getValue(), key);
+                default -> throw new UnsupportedException("allOf with " + key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies one of the validation keywords shared by schemas, parameters and headers into
+     * {@code schema}; {@code owner} is the node declaring it.
+     */
+    private static void schemaKeyword(ObjectNode schema, String key, JsonNode value, JsonNode owner,
+                                      Position position) throws UnsupportedException {
+        String type = owner.path("type").textValue();
+        boolean numeric = "integer".equals(type) || "number".equals(type);
+        switch (key) {
+            case "type" -> schema.put(key, text(value, key));
+            case "format" -> schema.put(key, text(value, key));
+            case "items" -> {
+                if (!"array".equals(type)) {
+                    throw new UnsupportedException("items on " + type);
+                }
+                schema.set(key, position == Position.PARAMETER || position == Position.HEADER
+                    ? items(value, position)
+                    : schema(value, Position.PROPERTY));
+            }
+            case "minimum", "maximum", "multipleOf" -> {
+                if (!numeric || !value.isNumber()) {
+                    throw new UnsupportedException(key);
+                }
+                schema.set(key, new DecimalNode(value.decimalValue().stripTrailingZeros()));
+            }
+            case "exclusiveMinimum", "exclusiveMaximum" -> {
+                if (!numeric) {
+                    throw new UnsupportedException(key);
+                }
+                schema.put(key, bool(value, key));
+            }
+            case "minLength", "maxLength" -> {
+                if (!"string".equals(type) || !value.isInt()) {
+                    throw new UnsupportedException(key);
+                }
+                schema.set(key, value);
+            }
+            case "pattern" -> {
+                if (!"string".equals(type) || "byte".equals(owner.path("format").textValue())) {
+                    throw new UnsupportedException(key);
+                }
+                schema.put(key, text(value, key));
+            }
+            case "minItems", "maxItems" -> {
+                if (!"array".equals(type) || !value.isInt()) {
+                    throw new UnsupportedException(key);
+                }
+                schema.set(key, value);
+            }
+            case "uniqueItems" -> {
+                if (!"array".equals(type)) {
+                    throw new UnsupportedException(key);
+                }
+                schema.put(key, bool(value, key));
+            }
+            case "default" -> schema.set(key, value(value, owner, key));
+            case "enum" -> {
+                ArrayNode values = schema.putArray(key);
+                for (JsonNode item : array(value, key)) {
+                    values.add(value(item, owner, key));
+                }
+            }
+            default -> throw new UnsupportedException(key);
+        }
+    }
+
+    /**
+     * Items of a parameter or header array, which the legacy converter builds from v2 properties.
+     */
+    private static ObjectNode items(JsonNode items, Position position) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(items, "items")) {
+            if (isExtension(field.getKey()) || field.getKey().equals("collectionFormat")) {
+                throw new UnsupportedException("items." + field.getKey());
+            }
+            schemaKeyword(result, field.getKey(), field.getValue(), items, position);
+        }
+        if ("byte".equals(items.path("format").textValue())) {
+            throw new UnsupportedException("byte items");
+        }
+        text(items.get("type"), "items.type");
+        return result;
+    }
+
+    /**
+     * Checks a {@code default}, {@code example} or {@code enum} value of a schema of the
+     * {@code owner}'s type and format. Values are only passed through when the legacy
+     * converter keeps them unchanged wherever the schema appears; everything it coerces,
+     * reformats or drops is unsupported.
+     */
+    private static JsonNode value(JsonNode value, JsonNode owner, String keyword) throws UnsupportedException {
+        String type = owner.path("type").textValue();
+        String format = owner.path("format").textValue();
+        boolean supported = switch (type == null ? "" : type) {
+            case "string" -> value.isTextual() && (format == null || !Set.of(
+                "date", "date-time", "uuid", "byte", "binary").contains(format));
+            // The legacy converter reads some int64 values as int: only int-sized ones are safe
+            case "integer" -> value.isInt()
+                && ("int32".equals(format) || "int64".equals(format) || format == null && keyword.equals("example"));
+            case "number" -> (("float".equals(format) || "double".equals(format)) || keyword.equals("example"))
+                && (value.isInt() || value.isDouble() && Double.isFinite(value.doubleValue()));
+            case "boolean" -> value.isBoolean() && !keyword.equals("enum");
+            default -> false;
+        };
+        if (!supported) {
+            throw new UnsupportedException(keyword + " " + value + " for " + type + "/" + format);
+        }
+        return value;
+    }
+
+    private static ObjectNode xml(JsonNode xml) throws UnsupportedException {
+        ObjectNode result = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : entries(xml, "xml")) {
+            String key = field.getKey();
+            switch (key) {
+                case "name", "namespace", "prefix" -> result.put(key, text(field.getValue(), key));
+                case "attribute", "wrapped" -> result.put(key, bool(field.getValue(), key));
+                default -> throw new UnsupportedException("xml." + key);
+            }
+        }
+        return result;
+    }
+
+    private static String schemaRef(String ref) throws UnsupportedException {
+        if (!ref.startsWith(DEFINITIONS_PREFIX) || ref.indexOf('/', DEFINITIONS_PREFIX.length()) >= 0) {
+            throw new UnsupportedException("$ref " + ref);
+        }
+        return "#/components/schemas/" + ref.substring(DEFINITIONS_PREFIX.length());
+    }
+
+    // Node helpers
+
+    private static boolean isExtension(String key) {
+        return key.startsWith("x-");
+    }
+
+    private static void extension(ObjectNode extensions, String key, JsonNode value) throws UnsupportedException {
+        if (!isExtension(key)) {
+            throw new UnsupportedException(key);
+        }
+        extensions.set(key, value);
+    }
+
+    private static void expectOnly(JsonNode node, String what, String... keys) throws UnsupportedException {
+        Set<String> allowed = Set.of(keys);
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!allowed.contains(name)) {
+                throw new UnsupportedException(what + "." + name);
+            }
+        }
+    }
+
+    private static void putText(ObjectNode target, JsonNode source, String key) throws UnsupportedException {
+        if (source.has(key)) {
+            target.put(key, text(source.get(key), key));
+        }
+    }
+
+    private static String text(JsonNode node, String what) throws UnsupportedException {
+        if (node == null || !node.isTextual()) {
+            throw new UnsupportedException(what + " is not a string");
+        }
+        return node.textValue();
+    }
+
+    private static boolean bool(JsonNode node, String what) throws UnsupportedException {
+        if (node == null || !node.isBoolean()) {
+            throw new UnsupportedException(what + " is not a boolean");
+        }
+        return node.booleanValue();
+    }
+
+    private static ArrayNode texts(JsonNode node, String what) throws UnsupportedException {
+        ArrayNode values = array(node, what);
+        for (JsonNode value : values) {
+            text(value, what);
+        }
+        return values.deepCopy();
+    }
+
+    private static ArrayNode array(JsonNode node, String what) throws UnsupportedException {
+        if (node == null || !node.isArray()) {
+            throw new UnsupportedException(what + " is not an array");
+        }
+        return (ArrayNode) node;
+    }
+
+    private static ObjectNode object(JsonNode node, String what) throws UnsupportedException {
+        if (node == null || !node.isObject()) {
+            throw new UnsupportedException(what + " is not an object");
+        }
+        return (ObjectNode) node;
+    }
+
+    private static Iterable<Map.Entry<String, JsonNode>> entries(JsonNode node, String what)
+            throws UnsupportedException {
+        ObjectNode object = object(node, what);
+        return object::fields;
+    }
+
+    /**
+     * The document uses a construct the converter does not reproduce; the caller falls back
+     * to the legacy pipeline. Thrown for control flow only, so it carries no stack trace.
+     */
+    static final class UnsupportedException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedException(String construct) {
+            super("Unsupported Swagger 2.0 construct: " + construct, null, false, false);
+        }
+    }
+}
@@ -1,43 +1,93 @@
 package io.github.apitools.maven.parsers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.converter.SwaggerConverter;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import io.github.apitools.maven.ConversionMetrics;
+import io.github.apitools.maven.ConversionMetrics.Stage;
+import io.github.apitools.maven.ConversionMetrics.StageTimer;
 import io.github.apitools.maven.ParsedSpec;
 import io.github.apitools.maven.SpecFormat;
 import org.apache.maven.plugin.logging.Log;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 public class SwaggerParser {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final Log log;
-    private final ObjectMapper jsonMapper;
-    private final YAMLMapper yamlMapper;
+    private final boolean nativeSwagger2;
 
     public SwaggerParser(Log log) {
+        this(log, true);
+    }
+
+    /**
+     * @param nativeSwagger2 whether Swagger 2.0 documents go through {@link Swagger2TreeConverter}
+     *                       when it supports them, instead of swagger-parser's v2 parser and converter
+     */
+    public SwaggerParser(Log log, boolean nativeSwagger2) {
         this.log = log;
-        this.jsonMapper = new ObjectMapper();
-        this.yamlMapper = new YAMLMapper();
+        this.nativeSwagger2 = nativeSwagger2;
     }
 
     public ParsedSpec parse(String content, SpecFormat format) throws Exception {
+        return parseStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    /**
+     * Parses a specification read from {@code in}. The document goes straight from the
+     * stream into a Jackson tree, so the source text is never held as a String.
+     * The stream is not closed.
+     */
+    public ParsedSpec parseStream(InputStream in, SpecFormat format) throws Exception {
+        return parseStream(in, format, ConversionMetrics.builder());
+    }
+
+    /**
+     * Same as {@link #parseStream(InputStream, SpecFormat)}, recording the time spent
+     * reading, parsing and flattening the document into {@code metrics}.
+     */
+    public ParsedSpec parseStream(InputStream in, SpecFormat format, ConversionMetrics.Builder metrics) throws Exception {
+        return parseStream(in, format, ParserHolder.conversionOptions(), metrics);
+    }
+
+    /**
+     * Same as {@link #parseStream(InputStream, SpecFormat, ConversionMetrics.Builder)}, resolving
+     * and flattening the document only as far as {@code options} ask.
+     */
+    public ParsedSpec parseStream(InputStream in, SpecFormat format, ParseOptions options,
+                                  ConversionMetrics.Builder metrics) throws Exception {
         return switch (format) {
-            case SWAGGER_2 -> parseSwagger2(content);
-            case OPENAPI_3 -> parseOpenApi3(content);
+            case SWAGGER_2 -> parseSwagger2(in, options, metrics);
+            case OPENAPI_3 -> parseOpenApi3(in, options, metrics);
             default -> throw new IllegalArgumentException("Format not supported by SwaggerParser: " + format);
         };
     }
 
 
-    private ParsedSpec parseSwagger2(String content) throws Exception {
+    private ParsedSpec parseSwagger2(InputStream in, ParseOptions options, ConversionMetrics.Builder metrics)
+            throws Exception {
         log.debug("Parsing Swagger 2.0");
-        ParseOptions options = new ParseOptions();
-        options.setResolve(true);
-        options.setFlatten(true);
-
-        SwaggerParseResult result = new OpenAPIParser().readContents(content, null, options);
+        SwaggerParseResult result = parseTree(readTree(in, "Swagger 2.0", metrics), options, metrics);
 
         if (result.getOpenAPI() == null) {
             throw new IllegalArgumentException("Unable to parse Swagger 2.0: " +
@@ -47,13 +97,10 @@ public class SwaggerParser {
         return new ParsedSpec(SpecFormat.SWAGGER_2, result.getOpenAPI());
     }
 
-    private ParsedSpec parseOpenApi3(String content) throws Exception {
+    private ParsedSpec parseOpenApi3(InputStream in, ParseOptions options, ConversionMetrics.Builder metrics)
+            throws Exception {
         log.debug("Parsing OpenAPI 3.x");
-        ParseOptions options = new ParseOptions();
-        options.setResolve(true);
-        options.setFlatten(true);
-
-        SwaggerParseResult result = new OpenAPIParser().readContents(content, null, options);
+        SwaggerParseResult result = parseTree(readTree(in, "OpenAPI 3.x", metrics), options, metrics);
 
         if (result.getOpenAPI() == null) {
             throw new IllegalArgumentException("Unable to parse OpenAPI 3.x: " +
@@ -63,11 +110,140 @@ public class SwaggerParser {
         return new ParsedSpec(SpecFormat.OPENAPI_3, result.getOpenAPI());
     }
 
-    private JsonNode parseJson(String content) throws Exception {
+    /**
+     * Reads the document into a tree, using the JSON parser when the first
+     * significant byte opens an object and the YAML parser otherwise.
+     */
+    private JsonNode readTree(InputStream source, String description, ConversionMetrics.Builder metrics)
+            throws IOException {
+        try (StageTimer timer = metrics.time(Stage.READ)) {
+            return readTree(source, description);
+        }
+    }
+
+    private JsonNode readTree(InputStream source, String description) throws IOException {
+        InputStream in = source.markSupported() ? source : new BufferedInputStream(source, READ_BUFFER_SIZE);
+        ObjectMapper mapper = startsWithBrace(in) ? ParserHolder.jsonMapper() : ParserHolder.yamlMapper();
+
+        JsonNode node;
+        try {
+            node = mapper.readTree(in);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to parse " + description + ": " + e.getOriginalMessage(), e);
+        }
+
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            throw new IllegalArgumentException("Unable to parse " + description + ": empty definition");
+        }
+        return node;
+    }
+
+    private static boolean startsWithBrace(InputStream in) throws IOException {
+        in.mark(READ_BUFFER_SIZE);
         try {
-            return jsonMapper.readTree(content);
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                int b = in.read();
+                // Skip whitespace and a UTF-8 byte order mark
+                if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == 0xEF || b == 0xBB || b == 0xBF) {
+                    continue;
+                }
+                return b == '{';
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Mirrors {@link OpenAPIParser#readContents}: Swagger 2 documents are read with the v2
+     * parser and converted, everything else goes through the OpenAPI 3 parser.
+     */
+    private SwaggerParseResult parseTree(JsonNode node, ParseOptions options, ConversionMetrics.Builder metrics)
+            throws Exception {
+        if (node.has("swagger")) {
+            return parseSwagger2Tree(node, options, metrics);
+        }
+
+        String version = node.path("openapi").asText("");
+        if (version.startsWith("3.1")) {
+            // 3.1 documents are dereferenced by a resolver the parser only exposes for text input
+            try (StageTimer timer = metrics.time(Stage.PARSE)) {
+                return ParserHolder.readContents(ParserHolder.jsonMapper().writeValueAsString(node), options);
+            }
+        }
+        return parseOpenApi3Tree(node, options, metrics);
+    }
+
+    private SwaggerParseResult parseOpenApi3Tree(JsonNode node, ParseOptions options, ConversionMetrics.Builder metrics) {
+        SwaggerParseResult result;
+        try (StageTimer timer = metrics.time(Stage.PARSE)) {
+            result = ParserHolder.openApiV3Parser().parseJsonNode(null, node, options);
+        }
+        OpenAPI openAPI = result.getOpenAPI();
+        if (openAPI == null) {
+            return result;
+        }
+
+        try {
+            if (options.isResolve()) {
+                try (StageTimer timer = metrics.time(Stage.PARSE)) {
+                    new OpenAPIResolver(openAPI, new ArrayList<>(), null, null, options).resolve(result);
+                }
+            }
+            if (options.isFlatten()) {
+                try (StageTimer timer = metrics.time(Stage.FLATTEN)) {
+                    new InlineModelResolver(options.isFlattenComposedSchemas(), options.isCamelCaseFlattenNaming(),
+                        options.isSkipMatches()).flatten(openAPI);
+                }
+            }
         } catch (Exception e) {
-            return yamlMapper.readTree(content);
+            result.getMessages().add(e.getMessage());
+        }
+        return result;
+    }
+
+    private SwaggerParseResult parseSwagger2Tree(JsonNode node, ParseOptions options, ConversionMetrics.Builder metrics) {
+        // The native converter reproduces the resolved tree the legacy pipeline hands to the
+        // OpenAPI 3 parser, so it only applies when that pipeline would resolve and re-read it
+        if (nativeSwagger2 && options.isResolve() && options.isFlatten()) {
+            JsonNode convertedTree = null;
+            try (StageTimer timer = metrics.time(Stage.PARSE)) {
+                convertedTree = Swagger2TreeConverter.convert(node);
+            } catch (Swagger2TreeConverter.UnsupportedException e) {
+                log.debug(e.getMessage() + ", using the swagger-parser converter");
+            }
+            if (convertedTree != null) {
+                return parseOpenApi3Tree(convertedTree, options, metrics);
+            }
         }
+        return parseLegacySwagger2Tree(node, options, metrics);
+    }
+
+    private SwaggerParseResult parseLegacySwagger2Tree(JsonNode node, ParseOptions options,
+                                                       ConversionMetrics.Builder metrics) {
+        SwaggerParseResult converted;
+        JsonNode convertedTree;
+        try (StageTimer timer = metrics.time(Stage.PARSE)) {
+            SwaggerDeserializationResult swagger = new Swagger20Parser().readWithInfo(node);
+            if (swagger.getSwagger() != null && options.isResolve()) {
+                swagger.setSwagger(new SwaggerResolver(swagger.getSwagger(), new ArrayList<>(), null).resolve());
+            }
+
+            converted = new SwaggerConverter().convert(swagger);
+            if (converted.getOpenAPI() == null || !options.isFlatten()) {
+                return converted;
+            }
+            convertedTree = Yaml.mapper().valueToTree(converted.getOpenAPI());
+        }
+
+        // Re-read the converted model as OpenAPI 3 to resolve and flatten it, passing the
+        // tree along instead of a serialized copy
+        SwaggerParseResult flattened = parseOpenApi3Tree(convertedTree, options, metrics);
+        List<String> messages = new ArrayList<>();
+        if (converted.getMessages() != null) messages.addAll(converted.getMessages());
+        if (flattened.getMessages() != null) messages.addAll(flattened.getMessages());
+        flattened.setMessages(messages.stream().distinct().toList());
+        return flattened;
     }
 }
@@ -0,0 +1,257 @@
+package io.github.apitools.maven.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hashes a specification together with the local files it pulls in through external
+ * {@code $ref}s, so that editing a referenced file invalidates cached models and
+ * fingerprints of the documents that use it.
+ * <p>
+ * Every file is read once, as a stream: references are picked up from the bytes on their
+ * way to the digest, without decoding the document. Being a textual scan rather than a
+ * parse, it may pick up a few {@code $ref}s that are not references (in examples or
+ * descriptions): these only add files to the hash. Relative references in the root
+ * document resolve against the working directory and references in referenced files
+ * against their own directory, as the parser resolves them.
+ */
+public final class ExternalRefs {
+
+    private static final String MISSING = "missing";
+
+    private ExternalRefs() {
+    }
+
+    /**
+     * Returns the hash of the root document {@code file} and the files it references, or
+     * null when it references remote documents, whose content cannot be known without
+     * fetching them. The hash equals {@link FingerprintStore#sha256(Path)} for documents
+     * without external references.
+     */
+    public static String hash(Path file) throws IOException {
+        List<String> references = new ArrayList<>();
+        String contentHash = scan(file, references);
+        Map<Path, String> files = new TreeMap<>();
+        if (!collect(references, Paths.get("").toAbsolutePath(), files)) {
+            return null;
+        }
+        if (files.isEmpty()) {
+            return contentHash;
+        }
+
+        StringBuilder combined = new StringBuilder(contentHash);
+        files.forEach((path, hash) -> combined.append('|').append(path).append('=').append(hash));
+        return FingerprintStore.sha256(combined.toString());
+    }
+
+    private static boolean collect(List<String> references, Path baseDir, Map<Path, String> files)
+            throws IOException {
+        for (String ref : references) {
+            Path file = resolve(ref, baseDir);
+            if (file == null) {
+                return false;
+            }
+            if (files.containsKey(file)) {
+                continue;
+            }
+            if (!Files.isRegularFile(file)) {
+                files.put(file, MISSING);
+                continue;
+            }
+
+            List<String> nested = new ArrayList<>();
+            files.put(file, scan(file, nested));
+            if (!collect(nested, file.getParent(), files)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes {@code file}, adding the document part of its external references to {@code references}.
+     */
+    private static String scan(Path file, List<String> references) throws IOException {
+        try (ReferenceScanner in = new ReferenceScanner(Files.newInputStream(file))) {
+            String hash = FingerprintStore.sha256(in);
+            references.addAll(in.references());
+            return hash;
+        }
+    }
+
+    /**
+     * Returns the document part of every external reference in {@code in}, reading it to the end.
+     */
+    static List<String> references(InputStream in) throws IOException {
+        ReferenceScanner scanner = new ReferenceScanner(in);
+        scanner.transferTo(OutputStream.nullOutputStream());
+        return scanner.references();
+    }
+
+    /**
+     * Resolves a reference to a local file, or returns null for remote or unreadable references.
+     */
+    private static Path resolve(String ref, Path baseDir) {
+        try {
+            if (ref.startsWith("file:")) {
+                return Paths.get(URI.create(ref)).normalize();
+            }
+            if (ref.contains("://")) {
+                return null;
+            }
+            return baseDir.resolve(ref).toAbsolutePath().normalize();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Passes bytes through unchanged while matching {@code $ref['"]? *: *['"]?value}, in
+     * JSON or YAML, across read boundaries. Only local values ending before a quote,
+     * whitespace, {@code ,}, <code>}</code> or {@code ]} are kept, without their fragment.
+     */
+    private static final class ReferenceScanner extends FilterInputStream {
+
+        private static final byte[] KEY = {'$', 'r', 'e', 'f'};
+        private static final int MAX_REFERENCE_LENGTH = 4096;
+
+        private static final int SEARCH = 0;
+        private static final int KEY_END = 1;
+        private static final int VALUE_START = 2;
+        private static final int VALUE = 3;
+
+        private final List<String> references = new ArrayList<>();
+        private final ByteArrayOutputStream value = new ByteArrayOutputStream();
+        private int state = SEARCH;
+        private int matched;
+        private boolean keyQuoted;
+
+        ReferenceScanner(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                accept((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            for (int i = 0; i < read; i++) {
+                accept(b[off + i]);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            // Every byte has to go through the scanner
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        List<String> references() {
+            if (state == VALUE) {
+                endValue();
+            }
+            return references;
+        }
+
+        private void accept(byte b) {
+            switch (state) {
+                case KEY_END -> {
+                    if (b == ':') {
+                        state = VALUE_START;
+                    } else if (isQuote(b) && !keyQuoted) {
+                        keyQuoted = true;
+                    } else if (!isSpace(b)) {
+                        search(b);
+                    }
+                }
+                case VALUE_START -> {
+                    if (isQuote(b)) {
+                        state = VALUE;
+                    } else if (isValueEnd(b)) {
+                        if (!isSpace(b)) {
+                            search(b);
+                        }
+                    } else {
+                        value.write(b);
+                        state = VALUE;
+                    }
+                }
+                case VALUE -> {
+                    if (isValueEnd(b)) {
+                        endValue();
+                        search(b);
+                    } else if (value.size() < MAX_REFERENCE_LENGTH) {
+                        value.write(b);
+                    } else {
+                        value.reset();
+                        search(b);
+                    }
+                }
+                default -> search(b);
+            }
+        }
+
+        private void search(byte b) {
+            state = SEARCH;
+            if (b == KEY[matched]) {
+                if (++matched == KEY.length) {
+                    matched = 0;
+                    keyQuoted = false;
+                    state = KEY_END;
+                }
+            } else {
+                matched = b == KEY[0] ? 1 : 0;
+            }
+        }
+
+        private void endValue() {
+            String ref = value.toString(StandardCharsets.UTF_8);
+            value.reset();
+            state = SEARCH;
+            int fragment = ref.indexOf('#');
+            if (fragment >= 0) {
+                ref = ref.substring(0, fragment);
+            }
+            if (!ref.isEmpty()) {
+                references.add(ref);
+            }
+        }
+
+        private static boolean isQuote(byte b) {
+            return b == '"' || b == '\'';
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        private static boolean isValueEnd(byte b) {
+            return isQuote(b) || isSpace(b) || b == ',' || b == '}' || b == ']';
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.apitools.maven.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * Persistent record of what each output file was generated from, used to skip
+ * conversions whose source, options and plugin version are all unchanged.
+ */
+public class FingerprintStore {
+
+    private final Path file;
+    private final Properties entries = new Properties();
+    private boolean modified;
+
+    private FingerprintStore(Path file) {
+        this.file = file;
+    }
+
+    public static FingerprintStore load(Path file) throws IOException {
+        FingerprintStore store = new FingerprintStore(file);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                store.entries.load(in);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Returns true when {@code output} still exists and was produced with exactly this fingerprint.
+     */
+    public synchronized boolean isUpToDate(Path output, Fingerprint fingerprint) {
+        return Files.isRegularFile(output) && fingerprint.value().equals(entries.getProperty(key(output)));
+    }
+
+    public synchronized void record(Path output, Fingerprint fingerprint) {
+        Object previous = entries.setProperty(key(output), fingerprint.value());
+        modified |= !fingerprint.value().equals(previous);
+    }
+
+    public synchronized void save() throws IOException {
+        if (!modified) {
+            return;
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            entries.store(out, "api-spec-converter fingerprints");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        modified = false;
+    }
+
+    private static String key(Path output) {
+        return output.toAbsolutePath().normalize().toString();
+    }
+
+    public static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return sha256(in);
+        }
+    }
+
+    /**
+     * Hashes the rest of {@code in} in fixed-size chunks. The stream is not closed.
+     */
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(newDigest().digest(content));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Fingerprint(String sourceHash, String optionsHash, String pluginVersion) {
+
+        public String value() {
+            return sourceHash + "|" + optionsHash + "|" + pluginVersion;
+        }
+    }
+}
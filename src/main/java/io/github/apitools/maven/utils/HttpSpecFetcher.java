@@ -0,0 +1,218 @@
+package io.github.apitools.maven.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Downloads URL sources, accepting gzip and deflate encoded responses. With a cache
+ * directory every body is kept on disk together with its ETag and Last-Modified
+ * validators: later fetches are conditional and a 304 answer is served from the cached
+ * copy. In offline mode only the cached copy is read.
+ */
+public class HttpSpecFetcher {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final Log log;
+    private final HttpClient httpClient;
+    private final Path cacheDirectory;
+    private final boolean offline;
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheDirectory where bodies and validators are kept, or null to always download
+     * @param offline        read the cached copy without contacting the server
+     */
+    public HttpSpecFetcher(Log log, Path cacheDirectory, boolean offline) {
+        this.log = log;
+        this.cacheDirectory = cacheDirectory;
+        this.offline = offline;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    }
+
+    /**
+     * Opens the decoded body of {@code url}.
+     */
+    public InputStream open(String url) throws IOException, InterruptedException {
+        if (cacheDirectory == null) {
+            if (offline) {
+                throw new IOException("Cannot read " + url + " in offline mode: the HTTP cache is disabled");
+            }
+            log.info("Reading from URL: " + url);
+            return decode(url, send(url, null));
+        }
+
+        return Files.newInputStream(fetch(url));
+    }
+
+    /**
+     * Brings the cached copy of {@code url} up to date and returns it, or returns null
+     * when there is no cache directory. The file can be read as many times as needed.
+     */
+    public Path fetch(String url) throws IOException, InterruptedException {
+        if (cacheDirectory == null) {
+            return null;
+        }
+
+        // One fetch per URL at a time, so concurrent conversions of a source share the download
+        synchronized (locks.computeIfAbsent(url, key -> new Object())) {
+            return fetchCached(url);
+        }
+    }
+
+    private Path fetchCached(String url) throws IOException, InterruptedException {
+        CacheEntry entry = CacheEntry.of(cacheDirectory, url);
+        Properties validators = entry.loadValidators();
+
+        if (offline) {
+            if (validators == null) {
+                throw new IOException("No cached copy of " + url + " available in offline mode");
+            }
+            log.info("Reading cached copy of URL (offline): " + url);
+            return entry.body();
+        }
+
+        log.info("Reading from URL: " + url);
+        HttpResponse<InputStream> response = send(url, validators);
+        if (response.statusCode() == 304 && validators != null) {
+            response.body().close();
+            log.info("Not modified, reading cached copy of: " + url);
+            return entry.body();
+        }
+
+        Files.createDirectories(cacheDirectory);
+        Path temp = Files.createTempFile(cacheDirectory, entry.key(), ".tmp");
+        try {
+            try (InputStream in = decode(url, response)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            move(temp, entry.body());
+            entry.storeValidators(url, response);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return entry.body();
+    }
+
+    private HttpResponse<InputStream> send(String url, Properties validators) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .timeout(TIMEOUT)
+            .header("Accept-Encoding", ACCEPT_ENCODING)
+            .GET();
+        if (validators != null) {
+            String etag = validators.getProperty(CacheEntry.ETAG);
+            String lastModified = validators.getProperty(CacheEntry.LAST_MODIFIED);
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.header("If-Modified-Since", lastModified);
+            }
+        }
+
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static InputStream decode(String url, HttpResponse<InputStream> response) throws IOException {
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("HTTP error " + response.statusCode() +
+                " while reading from " + url);
+        }
+
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity")
+            .trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "identity", "" -> response.body();
+            case "gzip", "x-gzip" -> new GZIPInputStream(response.body());
+            case "deflate" -> new InflaterInputStream(response.body());
+            default -> {
+                response.body().close();
+                throw new IOException("Unsupported content encoding '" + encoding + "' from " + url);
+            }
+        };
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Files of one cached URL, named after the hash of the URL: the body and a properties
+     * file with its validators. The validators are written last, so an entry is complete
+     * once they exist.
+     */
+    private record CacheEntry(Path directory, String key) {
+
+        static final String URL = "url";
+        static final String ETAG = "etag";
+        static final String LAST_MODIFIED = "lastModified";
+
+        static CacheEntry of(Path directory, String url) {
+            return new CacheEntry(directory, FingerprintStore.sha256(url));
+        }
+
+        Path body() {
+            return directory.resolve(key + ".body");
+        }
+
+        Path validators() {
+            return directory.resolve(key + ".properties");
+        }
+
+        Properties loadValidators() throws IOException {
+            if (!Files.isRegularFile(validators()) || !Files.isRegularFile(body())) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(validators())) {
+                properties.load(in);
+            }
+            return properties;
+        }
+
+        void storeValidators(String url, HttpResponse<?> response) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty(URL, url);
+            response.headers().firstValue("ETag").ifPresent(etag -> properties.setProperty(ETAG, etag));
+            response.headers().firstValue("Last-Modified")
+                .ifPresent(lastModified -> properties.setProperty(LAST_MODIFIED, lastModified));
+
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "api-spec-converter HTTP cache");
+                }
+                move(temp, validators());
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
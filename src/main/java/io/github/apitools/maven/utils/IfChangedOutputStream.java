@@ -0,0 +1,177 @@
+package io.github.apitools.maven.utils;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes a file only if the new content differs from what it already holds, so an
+ * unchanged output keeps its timestamp and does not trigger downstream rebuilds.
+ * <p>
+ * Written bytes are compared with the existing file as they arrive; nothing is written
+ * while they match. At the first difference the matching prefix is copied to a temporary
+ * file next to the target and writing continues there. {@link #commit()} then moves the
+ * temporary file over the target atomically, so readers never see a partial file.
+ * The replaced file keeps the permissions of the target, or the default ones for a new file.
+ */
+public class IfChangedOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final byte[] compareBuffer = new byte[BUFFER_SIZE];
+    private InputStream existing;
+    private long matched;
+    private Path temp;
+    private OutputStream tempOut;
+    private boolean finished;
+
+    public IfChangedOutputStream(Path target) throws IOException {
+        this.target = target;
+        if (Files.isRegularFile(target)) {
+            this.existing = new BufferedInputStream(Files.newInputStream(target), BUFFER_SIZE);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0 && tempOut == null) {
+            int chunk = Math.min(len, compareBuffer.length);
+            int read = existing != null ? existing.readNBytes(compareBuffer, 0, chunk) : 0;
+            int mismatch = Arrays.mismatch(compareBuffer, 0, read, b, off, off + chunk);
+            int same = mismatch < 0 ? chunk : mismatch;
+            matched += same;
+            off += same;
+            len -= same;
+            if (mismatch >= 0) {
+                diverge();
+            }
+        }
+        if (len > 0) {
+            tempOut.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (tempOut != null) {
+            tempOut.flush();
+        }
+    }
+
+    /**
+     * Finishes the file: replaces the target when the written content differs from it,
+     * or leaves it untouched. Returns true if the target was written.
+     */
+    public boolean commit() throws IOException {
+        ensureOpen();
+        if (tempOut == null && existing != null && existing.read() < 0) {
+            finished = true;
+            existing.close();
+            return false;
+        }
+        if (tempOut == null) {
+            // The new content is a prefix of the old one, or there was no file yet
+            diverge();
+        }
+
+        finished = true;
+        tempOut.close();
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Abandons the new content: the target is left as it was and the temporary file removed.
+     */
+    public void discard() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            if (existing != null) {
+                existing.close();
+            }
+            if (tempOut != null) {
+                tempOut.close();
+            }
+        } finally {
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Discards the content unless {@link #commit()} was called.
+     */
+    @Override
+    public void close() throws IOException {
+        discard();
+    }
+
+    private void diverge() throws IOException {
+        if (existing != null) {
+            existing.close();
+        }
+
+        temp = createTemp();
+        tempOut = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE);
+        if (matched > 0) {
+            try (InputStream in = Files.newInputStream(target)) {
+                IOUtils.copyLarge(in, tempOut, 0, matched);
+            }
+        }
+    }
+
+    /**
+     * Creates the temporary file with default attributes rather than through
+     * {@link Files#createTempFile}, whose owner-only permissions would end up on the target.
+     */
+    private Path createTemp() throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        while (true) {
+            String suffix = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+            Path candidate = dir.resolve(target.getFileName() + "." + suffix + ".tmp");
+            try {
+                Files.createFile(candidate);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (view != null && Files.exists(target)) {
+                Files.setPosixFilePermissions(candidate, view.readAttributes().permissions());
+            }
+            return candidate;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Stream already committed or discarded: " + target);
+        }
+    }
+}
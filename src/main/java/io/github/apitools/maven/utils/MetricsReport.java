@@ -0,0 +1,179 @@
+package io.github.apitools.maven.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.apitools.maven.ConversionMetrics;
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.ConversionResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable record of one plugin execution: one entry per specification with
+ * its formats, stage timings, sizes, model counts, cache status and warnings.
+ * Entries may be added from several threads; they are written sorted by source.
+ * <p>
+ * Executions of the same build share the report file: each one is kept under
+ * {@code executions}, and a report left by an earlier build is replaced.
+ */
+public class MetricsReport {
+
+    public static final String STATUS_CONVERTED = "converted";
+    public static final String STATUS_UP_TO_DATE = "up-to-date";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Object WRITE_LOCK = new Object();
+
+    private final Path file;
+    private final Instant buildStarted;
+    private final Instant started = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<ObjectNode> specs = new ArrayList<>();
+
+    /**
+     * Creates the report of an execution of the build started at {@code buildStarted}.
+     */
+    public MetricsReport(Path file, Instant buildStarted) {
+        this.file = file;
+        this.buildStarted = buildStarted;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void recordConversion(ConversionOptions options, Path output, ConversionResult result) {
+        ConversionMetrics metrics = result.metrics();
+        ObjectNode spec = newEntry(options, output, STATUS_CONVERTED, metrics != null && metrics.isCacheHit());
+
+        if (metrics != null) {
+            ObjectNode stages = spec.putObject("stages");
+            for (Map.Entry<ConversionMetrics.Stage, ConversionMetrics.StageMetrics> entry : metrics.getStages().entrySet()) {
+                ObjectNode stage = stages.putObject(entry.getKey().getValue());
+                stage.put("wallNanos", entry.getValue().wallNanos());
+                stage.put("allocatedBytes", entry.getValue().allocatedBytes());
+            }
+            spec.put("totalNanos", metrics.getTotalNanos());
+            spec.put("inputBytes", metrics.getInputBytes());
+            spec.put("outputBytes", metrics.getOutputBytes());
+            spec.put("paths", metrics.getPathCount());
+            spec.put("operations", metrics.getOperationCount());
+            spec.put("schemas", metrics.getSchemaCount());
+        }
+
+        ArrayNode warnings = spec.putArray("warnings");
+        result.warnings().forEach(warnings::add);
+        add(spec);
+    }
+
+    /**
+     * Records a conversion skipped because its output was up to date, a hit of the
+     * incremental fingerprint cache. Converted entries are cache hits when their model
+     * came from the parsed model cache.
+     */
+    public void recordUpToDate(ConversionOptions options, Path output) {
+        add(newEntry(options, output, STATUS_UP_TO_DATE, true));
+    }
+
+    public void recordFailure(ConversionOptions options, Path output, String message) {
+        ObjectNode spec = newEntry(options, output, STATUS_FAILED, false);
+        spec.put("error", message);
+        add(spec);
+    }
+
+    private static ObjectNode newEntry(ConversionOptions options, Path output, String status, boolean cacheHit) {
+        ObjectNode spec = MAPPER.createObjectNode();
+        spec.put("source", options.getSource());
+        spec.put("output", output != null ? output.toAbsolutePath().toString() : null);
+        spec.put("from", String.valueOf(options.getFrom()));
+        spec.put("to", String.valueOf(options.getTo()));
+        spec.put("syntax", String.valueOf(options.getSyntax()));
+        spec.put("status", status);
+        spec.put("cacheHit", cacheHit);
+        return spec;
+    }
+
+    private synchronized void add(ObjectNode spec) {
+        specs.add(spec);
+    }
+
+    /**
+     * Writes the report of this execution, identified by the goal and module in
+     * {@code execution}. Executions of the same build already in the file are kept, except
+     * a previous run of this one; a file from another build is replaced.
+     */
+    public void write(Map<String, String> execution) throws IOException {
+        ObjectNode current = MAPPER.createObjectNode();
+        execution.forEach(current::put);
+        current.put("started", started.toString());
+        current.put("wallNanos", System.nanoTime() - startNanos);
+
+        ArrayNode entries = current.putArray("specs");
+        synchronized (this) {
+            specs.stream()
+                .sorted(Comparator.comparing(spec -> spec.path("source").asText()))
+                .forEach(entries::add);
+        }
+
+        synchronized (WRITE_LOCK) {
+            ObjectNode report = MAPPER.createObjectNode();
+            report.put("buildStarted", buildStarted.toString());
+            ArrayNode executions = report.putArray("executions");
+            for (JsonNode previous : previousExecutions()) {
+                if (!sameExecution(previous, current)) {
+                    executions.add(previous);
+                }
+            }
+            executions.add(current);
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                MAPPER.writeValue(out, report);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the executions recorded in the file by this build, or none when the file is
+     * missing, unreadable or left by another build.
+     */
+    private JsonNode previousExecutions() {
+        if (!Files.isRegularFile(file)) {
+            return MAPPER.createArrayNode();
+        }
+        try {
+            JsonNode previous = MAPPER.readTree(file.toFile());
+            if (previous != null && buildStarted.toString().equals(previous.path("buildStarted").asText())) {
+                return previous.path("executions");
+            }
+        } catch (IOException e) {
+            // A damaged report is simply replaced
+        }
+        return MAPPER.createArrayNode();
+    }
+
+    private static boolean sameExecution(JsonNode previous, JsonNode current) {
+        for (String key : List.of("project", "goal", "executionId")) {
+            if (!previous.path(key).asText().equals(current.path(key).asText())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -24,4 +24,53 @@ public class OpenApiFieldFiller {
             openAPI.paths(new io.swagger.v3.oas.models.Paths());
         }
     }
+
+    /**
+     * Copy-on-write variant of {@link #fillMissingFields(OpenAPI)} for models that may be
+     * shared: {@code openAPI} is left untouched and returned as is when nothing is missing,
+     * otherwise a copy of the top-level object and its info, the only parts filled in, is
+     * filled and returned. Everything else is shared with the original.
+     */
+    public static OpenAPI withMissingFields(OpenAPI openAPI) {
+        Info info = openAPI.getInfo();
+        if (info != null && info.getTitle() != null && info.getVersion() != null && openAPI.getPaths() != null) {
+            return openAPI;
+        }
+
+        OpenAPI copy = shallowCopy(openAPI);
+        if (info != null) {
+            copy.setInfo(shallowCopy(info));
+        }
+        fillMissingFields(copy);
+        return copy;
+    }
+
+    private static OpenAPI shallowCopy(OpenAPI openAPI) {
+        OpenAPI copy = new OpenAPI(openAPI.getSpecVersion());
+        copy.setOpenapi(openAPI.getOpenapi());
+        copy.setInfo(openAPI.getInfo());
+        copy.setExternalDocs(openAPI.getExternalDocs());
+        copy.setServers(openAPI.getServers());
+        copy.setSecurity(openAPI.getSecurity());
+        copy.setTags(openAPI.getTags());
+        copy.setPaths(openAPI.getPaths());
+        copy.setComponents(openAPI.getComponents());
+        copy.setExtensions(openAPI.getExtensions());
+        copy.setJsonSchemaDialect(openAPI.getJsonSchemaDialect());
+        copy.setWebhooks(openAPI.getWebhooks());
+        return copy;
+    }
+
+    private static Info shallowCopy(Info info) {
+        Info copy = new Info();
+        copy.setTitle(info.getTitle());
+        copy.setDescription(info.getDescription());
+        copy.setTermsOfService(info.getTermsOfService());
+        copy.setContact(info.getContact());
+        copy.setLicense(info.getLicense());
+        copy.setVersion(info.getVersion());
+        copy.setExtensions(info.getExtensions());
+        copy.setSummary(info.getSummary());
+        return copy;
+    }
 }
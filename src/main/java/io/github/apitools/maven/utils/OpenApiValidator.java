@@ -1,9 +1,14 @@
 package io.github.apitools.maven.utils;
 
-import io.swagger.parser.OpenAPIParser;
-import io.swagger.v3.parser.core.models.ParseOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.converter.SwaggerConverter;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.parsers.ParserHolder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,10 +20,7 @@ public class OpenApiValidator {
 
         try {
             if (format == SpecFormat.OPENAPI_3 || format == SpecFormat.SWAGGER_2) {
-                ParseOptions options = new ParseOptions();
-                options.setResolve(false);
-
-                SwaggerParseResult result = new OpenAPIParser().readContents(content, null, options);
+                SwaggerParseResult result = ParserHolder.readContents(content, ParserHolder.validationOptions());
 
                 if (result.getMessages() != null && !result.getMessages().isEmpty()) {
                     warnings.addAll(result.getMessages());
@@ -30,4 +32,49 @@ public class OpenApiValidator {
 
         return warnings;
     }
+
+    /**
+     * Validates an OpenAPI 3 model without writing and lexing its text: the parser's checks
+     * run on trees, so the model is copied into one and deserialized again, reporting the
+     * same warnings as for its serialized form. The copy is as large as the document.
+     */
+    public static List<String> validate(OpenAPI openAPI) {
+        List<String> warnings = new ArrayList<>();
+
+        try {
+            JsonNode tree = Json.mapper().valueToTree(openAPI);
+            SwaggerParseResult result = ParserHolder.openApiV3Parser()
+                .parseJsonNode(null, tree, ParserHolder.validationOptions());
+            addMessages(warnings, result.getMessages());
+        } catch (Exception e) {
+            warnings.add("Error during validation: " + e.getMessage());
+        }
+
+        return warnings;
+    }
+
+    /**
+     * Validates a Swagger 2 document held as a tree, running the same Swagger 2 reader and
+     * conversion checks the parser applies to Swagger 2 text. These build the Swagger 2 and
+     * OpenAPI models of the document.
+     */
+    public static List<String> validateSwagger2(JsonNode swagger) {
+        List<String> warnings = new ArrayList<>();
+
+        try {
+            SwaggerDeserializationResult deserialized = new Swagger20Parser().readWithInfo(swagger);
+            SwaggerParseResult result = new SwaggerConverter().convert(deserialized);
+            addMessages(warnings, result.getMessages());
+        } catch (Exception e) {
+            warnings.add("Error during validation: " + e.getMessage());
+        }
+
+        return warnings;
+    }
+
+    private static void addMessages(List<String> warnings, List<String> messages) {
+        if (messages != null && !messages.isEmpty()) {
+            warnings.addAll(messages);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.apitools.maven.utils;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds specification files below a directory using include/exclude glob patterns.
+ * Patterns are matched against the path relative to the base directory, and a
+ * leading {@code **}{@code /} also matches files directly in the base directory.
+ */
+public class SpecScanner {
+
+    public static final List<String> DEFAULT_INCLUDES = List.of("**/*.yaml", "**/*.yml", "**/*.json");
+
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    public SpecScanner(List<String> includes, List<String> excludes) {
+        List<String> effectiveIncludes = includes == null || includes.isEmpty() ? DEFAULT_INCLUDES : includes;
+        this.includes = compile(effectiveIncludes);
+        this.excludes = compile(excludes == null ? List.of() : excludes);
+    }
+
+    /**
+     * Returns the matching files as paths relative to {@code baseDir}, in a stable order.
+     */
+    public List<Path> scan(Path baseDir) throws IOException {
+        if (!Files.isDirectory(baseDir)) {
+            throw new IOException("Source directory not found: " + baseDir);
+        }
+
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            return files
+                .filter(Files::isRegularFile)
+                .map(baseDir::relativize)
+                .filter(this::matches)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    boolean matches(Path relativePath) {
+        return anyMatch(includes, relativePath) && !anyMatch(excludes, relativePath);
+    }
+
+    private static boolean anyMatch(List<PathMatcher> matchers, Path path) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> compile(List<String> patterns) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String pattern : patterns) {
+            String glob = pattern.trim().replace('\\', '/');
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            if (glob.startsWith("**/")) {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(3)));
+            }
+        }
+        return matchers;
+    }
+}
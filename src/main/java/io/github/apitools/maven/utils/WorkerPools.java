@@ -0,0 +1,65 @@
+package io.github.apitools.maven.utils;
+
+import io.github.apitools.maven.ThreadMode;
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the bounded worker pools used to run conversions concurrently.
+ */
+public class WorkerPools {
+
+    private WorkerPools() {}
+
+    /**
+     * Returns the pool size to use: {@code requested} when positive, otherwise the
+     * number of available processors, never more than {@code tasks}.
+     */
+    public static int effectiveSize(int requested, int tasks) {
+        int size = requested > 0 ? requested : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(size, tasks));
+    }
+
+    /**
+     * Creates a fixed-size pool. Virtual threads are used when requested and the
+     * running JVM supports them (Java 21+); otherwise platform threads are used.
+     */
+    public static ExecutorService newFixedPool(int size, ThreadMode mode, String namePrefix, Log log) {
+        ThreadFactory factory = null;
+        if (mode == ThreadMode.VIRTUAL) {
+            factory = virtualThreadFactory(namePrefix);
+            if (factory == null) {
+                log.warn("Virtual threads are not available on this JVM, falling back to platform threads");
+            }
+        }
+        if (factory == null) {
+            factory = platformThreadFactory(namePrefix);
+        }
+        return Executors.newFixedThreadPool(size, factory);
+    }
+
+    private static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Resolved reflectively so the plugin keeps running on Java 17
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
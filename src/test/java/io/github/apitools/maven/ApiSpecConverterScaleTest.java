@@ -0,0 +1,250 @@
+package io.github.apitools.maven;
+
+import io.github.apitools.maven.generator.SpecGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Converts generated specs of increasing size. The production-size run (10k operations,
+ * 5k schemas) is slow and the wall-clock growth check depends on the machine: both are
+ * only enabled with {@code -Dscale.production=true}.
+ */
+class ApiSpecConverterScaleTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ApiSpecConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new ApiSpecConverter(mock(Log.class));
+    }
+
+    private static SpecGenerator generator(int paths, int operationsPerPath, int schemas) {
+        return SpecGenerator.builder()
+            .seed(1234)
+            .paths(paths)
+            .operationsPerPath(operationsPerPath)
+            .globalParameters(8)
+            .schemas(schemas)
+            .depth(2)
+            .allOfChain(3)
+            .enumValues(5)
+            .recursive(true)
+            .build();
+    }
+
+    @Test
+    void testConvertsGeneratedSpecsInBothDirections() throws Exception {
+        SpecGenerator generator = generator(150, 2, 75);
+
+        Path swagger2Source = tempDir.resolve("generated-swagger2.json");
+        Files.writeString(swagger2Source, generator.swagger2Json());
+        Path openApiSource = tempDir.resolve("generated-openapi.yaml");
+        Files.writeString(openApiSource, generator.openApiYaml());
+
+        String openApi = converter.convert(options(swagger2Source, SpecFormat.SWAGGER_2, SpecFormat.OPENAPI_3)).content();
+        String swagger2 = converter.convert(options(openApiSource, SpecFormat.OPENAPI_3, SpecFormat.SWAGGER_2)).content();
+
+        OpenAPI fromSwagger2 = new OpenAPIV3Parser().readContents(openApi).getOpenAPI();
+        assertEquals(150, fromSwagger2.getPaths().size());
+        assertEquals(generator.operationCount(),
+            fromSwagger2.getPaths().values().stream().mapToInt(p -> p.readOperations().size()).sum());
+        assertTrue(swagger2.contains("swagger: \"2.0\"") || swagger2.contains("swagger: '2.0'"));
+        assertTrue(swagger2.contains("/resources149/{id}"));
+    }
+
+    @Test
+    void testConvertedWorkGrowsLinearly() throws Exception {
+        SpecGenerator smallSpec = generator(100, 2, 50);
+        SpecGenerator largeSpec = generator(400, 2, 200);
+
+        ConversionMetrics small = converter.convert(
+            options(write("small.yaml", smallSpec), SpecFormat.OPENAPI_3, SpecFormat.SWAGGER_2)).metrics();
+        ConversionMetrics large = converter.convert(
+            options(write("large.yaml", largeSpec), SpecFormat.OPENAPI_3, SpecFormat.SWAGGER_2)).metrics();
+
+        assertEquals(100, small.getPathCount());
+        assertEquals(400, large.getPathCount());
+        assertEquals(smallSpec.operationCount(), small.getOperationCount());
+        assertEquals(largeSpec.operationCount(), large.getOperationCount());
+        // Every generated schema is counted once, on top of the same fixed ones
+        assertEquals(200 - 50, large.getSchemaCount() - small.getSchemaCount());
+
+        // Four times the input: shared schemas are written once, so the output stays near 4x
+        double ratio = (double) large.getOutputBytes() / small.getOutputBytes();
+        assertTrue(ratio > 3 && ratio < 5, "Output grew " + ratio + "x for a 4x larger spec");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scale.production", matches = "true")
+    void testConversionTimeGrowsLinearly() throws Exception {
+        Path small = write("small.yaml", generator(100, 2, 50));
+        Path large = write("large.yaml", generator(400, 2, 200));
+
+        // Warm up so the first measurement does not pay for class loading and JIT
+        convertTimed(small);
+
+        long smallNanos = bestOf(3, small);
+        long largeNanos = bestOf(3, large);
+
+        // Four times the input: a linear converter stays near 4x, a quadratic one near 16x
+        double ratio = (double) largeNanos / smallNanos;
+        assertTrue(ratio < 10, "Conversion time grew " + ratio + "x for a 4x larger spec");
+    }
+
+    @Test
+    void testParallelConversionMatchesSerial() throws Exception {
+        Path source = write("parallel.yaml", generator(300, 3, 150));
+
+        for (OutputSyntax syntax : OutputSyntax.values()) {
+            for (FieldOrder order : FieldOrder.values()) {
+                ConversionOptions.Builder builder = ConversionOptions.builder()
+                    .source(source.toString())
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(SpecFormat.SWAGGER_2)
+                    .syntax(syntax)
+                    .order(order)
+                    .validate(true);
+
+                ConversionResult serial = converter.convert(builder.parallelism(1).build());
+                ConversionResult parallel = converter.convert(builder.parallelism(4).build());
+
+                assertEquals(serial.content(), parallel.content(), syntax + " " + order);
+                assertEquals(serial.warnings(), parallel.warnings());
+            }
+        }
+    }
+
+    @Test
+    void testChunkedSerializationMatchesSerial() throws Exception {
+        Path source = write("chunked.yaml", generator(300, 3, 150));
+
+        assertChunkedMatchesSerial(source);
+    }
+
+    @Test
+    void testChunkedSerializationOfKeysThatNeedQuoting() throws Exception {
+        String[] paths = {"/a:b", "/c: d", "/e'f", "/g\"h", "/#i", "/j, k", "/[l]", "/{m}: n", "/- o", "/p ? q"};
+        String[] schemas = {"Name: with colon", "with\"quote", "- dash", "? question", "#hash", "true", "1.50", "a:b"};
+
+        StringBuilder spec = new StringBuilder("""
+            openapi: 3.0.1
+            info: {title: Quoted keys, version: 1.0.0}
+            paths:
+            """);
+        for (int i = 0; i < paths.length; i++) {
+            spec.append("  ").append(quoted(paths[i])).append(":\n")
+                .append("    get:\n")
+                .append("      operationId: op").append(i).append('\n')
+                .append("      responses: {'200': {description: ok}}\n");
+        }
+        spec.append("components:\n  schemas:\n");
+        for (String schema : schemas) {
+            spec.append("    ").append(quoted(schema)).append(": {type: string}\n");
+        }
+        Path source = Files.writeString(tempDir.resolve("quoted.yaml"), spec);
+
+        Map<SpecFormat, String> yaml = assertChunkedMatchesSerial(source);
+
+        OpenAPI converted = new OpenAPIV3Parser().readContents(yaml.get(SpecFormat.OPENAPI_3)).getOpenAPI();
+        assertEquals(Set.of(paths), converted.getPaths().keySet());
+        assertEquals(Set.of(schemas), converted.getComponents().getSchemas().keySet());
+        assertTrue(yaml.get(SpecFormat.SWAGGER_2).contains("\n  '/c: d':\n"));
+        assertTrue(yaml.get(SpecFormat.SWAGGER_2).contains("\n  'Name: with colon':\n"));
+    }
+
+    private static String quoted(String key) {
+        return "\"" + key.replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Converts {@code source} serially and in chunks with every target, syntax, order and
+     * deterministic setting, and returns the YAML output of each target format.
+     */
+    private Map<SpecFormat, String> assertChunkedMatchesSerial(Path source) throws Exception {
+        Map<SpecFormat, String> yaml = new EnumMap<>(SpecFormat.class);
+        for (SpecFormat to : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                for (FieldOrder order : FieldOrder.values()) {
+                    for (boolean deterministic : new boolean[] {false, true}) {
+                        ConversionOptions.Builder builder = ConversionOptions.builder()
+                            .source(source.toString())
+                            .from(SpecFormat.OPENAPI_3)
+                            .to(to)
+                            .syntax(syntax)
+                            .order(order)
+                            .deterministic(deterministic);
+
+                        String serial = converter.convert(builder.parallelism(1).build()).content();
+                        String chunked = converter.convert(builder.parallelism(4).build()).content();
+
+                        assertEquals(serial, chunked, to + " " + syntax + " " + order + " deterministic=" + deterministic);
+                        if (syntax == OutputSyntax.YAML && order == FieldOrder.OPENAPI && !deterministic) {
+                            yaml.put(to, serial);
+                        }
+                    }
+                }
+            }
+        }
+        return yaml;
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scale.production", matches = "true")
+    void testConvertsProductionSizedSpec() throws Exception {
+        // JSON source: a YAML document this size exceeds the parser's SnakeYAML code point limit
+        Path source = tempDir.resolve("production.json");
+        Files.writeString(source, generator(2500, 4, 5000).openApiJson());
+
+        Path output = tempDir.resolve("production-swagger2.yaml");
+        ConversionResult result = converter.convertTo(options(source, SpecFormat.OPENAPI_3, SpecFormat.SWAGGER_2), output);
+
+        assertNotNull(result.warnings());
+        assertTrue(Files.size(output) > 0);
+    }
+
+    private Path write(String name, SpecGenerator generator) throws Exception {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, generator.openApiYaml());
+        return path;
+    }
+
+    private long bestOf(int runs, Path source) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            best = Math.min(best, convertTimed(source));
+        }
+        return best;
+    }
+
+    private long convertTimed(Path source) throws Exception {
+        long start = System.nanoTime();
+        converter.convert(options(source, SpecFormat.OPENAPI_3, SpecFormat.SWAGGER_2));
+        return System.nanoTime() - start;
+    }
+
+    private static ConversionOptions options(Path source, SpecFormat from, SpecFormat to) {
+        return ConversionOptions.builder()
+            .source(source.toString())
+            .from(from)
+            .to(to)
+            .syntax(OutputSyntax.YAML)
+            .build();
+    }
+}
@@ -1,5 +1,10 @@
 package io.github.apitools.maven;
 
+import io.github.apitools.maven.parsers.ModelCache;
+import io.github.apitools.maven.parsers.ParserHolder;
+import io.github.apitools.maven.utils.ExternalRefs;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
 import org.apache.maven.plugin.logging.Log;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +18,11 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -170,6 +179,455 @@ class ApiSpecConverterTest {
         assertTrue(result.content().contains("\"swagger\": \"2.0\""));
     }
 
+    @Test
+    void testConvertToPathMatchesConvert() throws Exception {
+        String openApiContent = """
+            openapi: 3.0.1
+            info:
+              title: Test API
+              version: 1.0.0
+            paths:
+              /test:
+                get:
+                  responses:
+                    '200':
+                      description: Success
+            """;
+
+        Path sourceFile = tempDir.resolve("test-stream.yaml");
+        Files.write(sourceFile, openApiContent.getBytes());
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.YAML)
+            .validate(true)
+            .fillMissing(false)
+            .build();
+
+        Path outputFile = tempDir.resolve("out/nested/test-stream_swagger_2.yaml");
+        ConversionResult result = converter.convertTo(options, outputFile);
+
+        assertNull(result.content());
+        assertNotNull(result.warnings());
+        assertEquals(converter.convert(options).content(), Files.readString(outputFile));
+    }
+
+    @Test
+    void testConvertToPathKeepsUnchangedOutput() throws Exception {
+        Path sourceFile = tempDir.resolve("test-unchanged.yaml");
+        Files.writeString(sourceFile, """
+            openapi: 3.0.1
+            info:
+              title: Test API
+              version: 1.0.0
+            paths: {}
+            """);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        Path outputFile = tempDir.resolve("unchanged.json");
+        converter.convertTo(options, outputFile);
+        FileTime written = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(outputFile, written);
+
+        converter.convertTo(options, outputFile);
+        assertEquals(written, Files.getLastModifiedTime(outputFile));
+
+        Files.writeString(sourceFile, Files.readString(sourceFile).replace("Test API", "Changed API"));
+        converter.convertTo(options, outputFile);
+        assertNotEquals(written, Files.getLastModifiedTime(outputFile));
+        assertTrue(Files.readString(outputFile).contains("Changed API"));
+    }
+
+    @Test
+    void testConvertCollectsMetrics() throws Exception {
+        String swagger2Content = """
+            swagger: '2.0'
+            info:
+              title: Metrics API
+              version: 1.0.0
+            paths:
+              /items:
+                get:
+                  responses:
+                    '200':
+                      description: Success
+                post:
+                  responses:
+                    '201':
+                      description: Created
+            definitions:
+              Item:
+                type: object
+                properties:
+                  name:
+                    type: string
+            """;
+
+        Path sourceFile = tempDir.resolve("test-metrics.yaml");
+        Files.write(sourceFile, swagger2Content.getBytes());
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.SWAGGER_2)
+            .to(SpecFormat.OPENAPI_3)
+            .syntax(OutputSyntax.JSON)
+            .validate(true)
+            .build();
+
+        ConversionResult result = converter.convert(options);
+        ConversionMetrics metrics = result.metrics();
+
+        assertNotNull(metrics);
+        for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+            assertNotNull(metrics.getStage(stage), "Missing stage " + stage);
+        }
+        assertEquals(Files.size(sourceFile), metrics.getInputBytes());
+        assertEquals(result.content().getBytes().length, metrics.getOutputBytes());
+        assertEquals(1, metrics.getPathCount());
+        assertEquals(2, metrics.getOperationCount());
+        assertEquals(1, metrics.getSchemaCount());
+    }
+
+    @Test
+    void testConvertReusesCachedModel() throws Exception {
+        String openApiContent = """
+            openapi: 3.0.1
+            info:
+              title: Cached API
+            """;
+
+        Path sourceFile = tempDir.resolve("test-cached.yaml");
+        Files.write(sourceFile, openApiContent.getBytes());
+
+        ModelCache cache = new ModelCache(4);
+        ApiSpecConverter cachingConverter = new ApiSpecConverter(log, cache);
+        ConversionOptions.Builder builder = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.OPENAPI_3)
+            .syntax(OutputSyntax.YAML);
+
+        ConversionResult first = cachingConverter.convert(builder.build());
+        ConversionResult filled = cachingConverter.convert(builder.fillMissing(true).build());
+        ConversionResult second = cachingConverter.convert(builder.fillMissing(false).build());
+
+        assertFalse(first.metrics().isCacheHit());
+        assertTrue(filled.metrics().isCacheHit());
+        assertTrue(second.metrics().isCacheHit());
+        assertEquals(1, cache.size());
+
+        // Filling missing fields works on a copy and never reaches the cached model
+        assertTrue(filled.content().contains("version: 1.0.0"));
+        assertEquals(first.content(), second.content());
+        assertEquals(converter.convert(builder.build()).content(), second.content());
+    }
+
+    @Test
+    void testConversionsLeaveCachedModelUnchanged() throws Exception {
+        String openApiContent = """
+            openapi: 3.0.1
+            info:
+              title: Shared API
+            paths:
+              /pets:
+                get:
+                  parameters:
+                    - {name: limit, in: query, schema: {type: integer, format: int32}}
+                  responses:
+                    '200':
+                      description: pets
+                      content:
+                        application/json:
+                          schema: {type: array, items: {$ref: '#/components/schemas/Pet'}}
+            components:
+              schemas:
+                Pet:
+                  type: object
+                  required: [name]
+                  properties:
+                    name: {type: string}
+                    tag: {type: string, nullable: true}
+                    price: {type: number, minimum: 0.50}
+            """;
+
+        Path sourceFile = tempDir.resolve("test-shared.yaml");
+        Files.write(sourceFile, openApiContent.getBytes());
+
+        ModelCache cache = new ModelCache(4);
+        ApiSpecConverter cachingConverter = new ApiSpecConverter(log, cache);
+        ConversionOptions.Builder builder = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.OPENAPI_3)
+            .syntax(OutputSyntax.YAML);
+        cachingConverter.convert(builder.build());
+
+        ModelCache.Key key = ModelCache.Key.of(
+            ExternalRefs.hash(sourceFile), SpecFormat.OPENAPI_3, ParserHolder.conversionOptions(true, true));
+        OpenAPI cached = cache.get(key);
+        assertNotNull(cached);
+        String before = Json.pretty(cached);
+
+        cachingConverter.convert(builder.fillMissing(true).build());
+        cachingConverter.convert(builder.deterministic(true).syntax(OutputSyntax.JSON).build());
+        cachingConverter.convert(builder.to(SpecFormat.SWAGGER_2).build());
+        cachingConverter.convert(builder.order(FieldOrder.ALPHA).syntax(OutputSyntax.YAML).build());
+        cachingConverter.convert(builder.deterministic(false).fillMissing(false).build());
+
+        assertSame(cached, cache.get(key));
+        assertEquals(before, Json.pretty(cached));
+        assertNull(cached.getInfo().getVersion());
+    }
+
+    @Test
+    void testEditedReferencedFileMissesCache() throws Exception {
+        Path schemas = tempDir.resolve("schemas.yaml");
+        Files.writeString(schemas, """
+            components:
+              schemas:
+                Pet: {type: object, properties: {name: {type: string}}}
+            """);
+        Path sourceFile = tempDir.resolve("test-external.yaml");
+        Files.writeString(sourceFile, """
+            openapi: 3.0.1
+            info: {title: External API, version: 1.0.0}
+            paths:
+              /pets:
+                get:
+                  responses:
+                    '200':
+                      description: pets
+                      content:
+                        application/json:
+                          schema: {$ref: '%s#/components/schemas/Pet'}
+            """.formatted(schemas.toAbsolutePath()));
+
+        ModelCache cache = new ModelCache(4);
+        ApiSpecConverter cachingConverter = new ApiSpecConverter(log, cache);
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.YAML)
+            .build();
+
+        assertTrue(cachingConverter.convert(options).content().contains("name:"));
+        assertTrue(cachingConverter.convert(options).metrics().isCacheHit());
+
+        Files.writeString(schemas, """
+            components:
+              schemas:
+                Pet: {type: object, properties: {nickname: {type: string}}}
+            """);
+        ConversionResult edited = cachingConverter.convert(options);
+
+        assertFalse(edited.metrics().isCacheHit());
+        assertTrue(edited.content().contains("nickname:"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testConvertWithoutResolveOrFlatten() throws Exception {
+        String openApiContent = """
+            openapi: 3.0.1
+            info: {title: References, version: 1.0.0}
+            paths:
+              /pets/{id}:
+                parameters:
+                  - $ref: '#/components/parameters/Id'
+                post:
+                  requestBody: {$ref: '#/components/requestBodies/PetBody'}
+                  responses:
+                    '201':
+                      description: created
+                      content:
+                        application/json:
+                          schema:
+                            type: object
+                            properties:
+                              owner: {type: object, properties: {name: {type: string}}}
+                    '404': {$ref: '#/components/responses/NotFound'}
+            components:
+              parameters:
+                Id: {name: id, in: path, required: true, schema: {type: integer}}
+              requestBodies:
+                PetBody:
+                  required: true
+                  content:
+                    application/json:
+                      schema: {$ref: '#/components/schemas/Pet'}
+              responses:
+                NotFound: {description: not found}
+              schemas:
+                Pet: {type: object, properties: {name: {type: string}}}
+            """;
+
+        Path sourceFile = tempDir.resolve("test-references.yaml");
+        Files.write(sourceFile, openApiContent.getBytes());
+
+        ConversionOptions.Builder builder = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.YAML);
+
+        String resolved = converter.convert(builder.build()).content();
+        String unresolved = converter.convert(builder.resolve(false).build()).content();
+        String inline = converter.convert(builder.flatten(false).build()).content();
+
+        // The references the converter follows are resolved on demand instead
+        assertEquals(resolved, unresolved);
+        assertTrue(resolved.contains("$ref: \"#/parameters/Id\""));
+        assertTrue(resolved.contains("in: \"body\""));
+        assertTrue(resolved.contains("inline_response_201"));
+
+        assertFalse(inline.contains("inline_response_201"));
+        assertTrue(inline.contains("owner:"));
+        assertTrue(inline.contains("in: \"body\""));
+    }
+
+    @Test
+    void testConvertToSeveralTargetsFromOneParse() throws Exception {
+        String openApiContent = """
+            openapi: 3.0.1
+            info:
+              title: Multi API
+              version: 1.0.0
+            paths:
+              /items:
+                get:
+                  responses:
+                    '200':
+                      description: Success
+            """;
+
+        Path sourceFile = tempDir.resolve("test-multi.yaml");
+        Files.write(sourceFile, openApiContent.getBytes());
+
+        ConversionOptions swagger2Json = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+        ConversionOptions openApiYaml = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.OPENAPI_3)
+            .syntax(OutputSyntax.YAML)
+            .build();
+
+        List<ApiSpecConverter.Target> targets = List.of(
+            new ApiSpecConverter.Target(swagger2Json, tempDir.resolve("multi/swagger2.json")),
+            new ApiSpecConverter.Target(openApiYaml, tempDir.resolve("multi/openapi.yaml")));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<ConversionResult> sequential;
+        List<ConversionResult> parallel;
+        try {
+            sequential = converter.convertTo(targets, null);
+            assertEquals(converter.convert(swagger2Json).content(), Files.readString(targets.get(0).output()));
+            assertEquals(converter.convert(openApiYaml).content(), Files.readString(targets.get(1).output()));
+
+            parallel = converter.convertTo(targets, pool);
+            assertEquals(converter.convert(swagger2Json).content(), Files.readString(targets.get(0).output()));
+            assertEquals(converter.convert(openApiYaml).content(), Files.readString(targets.get(1).output()));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Both outputs report the one shared parse
+        for (List<ConversionResult> results : List.of(sequential, parallel)) {
+            assertEquals(2, results.size());
+            assertEquals(results.get(0).metrics().getStage(ConversionMetrics.Stage.PARSE),
+                results.get(1).metrics().getStage(ConversionMetrics.Stage.PARSE));
+            assertEquals(Files.size(targets.get(1).output()), results.get(1).metrics().getOutputBytes());
+        }
+    }
+
+    @Test
+    void testConvertToTargetsRequiresSameSource() {
+        ConversionOptions first = ConversionOptions.builder()
+            .source("a.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .build();
+        ConversionOptions second = ConversionOptions.builder()
+            .source("b.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> converter.convertTo(List.of(
+            new ApiSpecConverter.Target(first, tempDir.resolve("a.json")),
+            new ApiSpecConverter.Target(second, tempDir.resolve("b.json"))), null));
+    }
+
+    @Test
+    void testConvertEachReportsFailuresPerTarget() throws Exception {
+        Path sourceFile = tempDir.resolve("test-each.yaml");
+        Files.writeString(sourceFile, """
+            openapi: 3.0.1
+            info: {title: Each, version: 1.0.0}
+            paths: {}
+            """);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+        // A non-empty directory where the second output should go cannot be replaced
+        Path blocked = Files.createDirectories(tempDir.resolve("blocked.json"));
+        Files.writeString(blocked.resolve("keep"), "");
+        Path written = tempDir.resolve("written.json");
+
+        List<ApiSpecConverter.TargetResult> outcomes = converter.convertEach(List.of(
+            new ApiSpecConverter.Target(options, written),
+            new ApiSpecConverter.Target(options, blocked)), null);
+
+        assertEquals(2, outcomes.size());
+        assertFalse(outcomes.get(0).failed());
+        assertNotNull(outcomes.get(0).result());
+        assertTrue(Files.isRegularFile(written));
+        assertTrue(outcomes.get(1).failed());
+        assertEquals(blocked, outcomes.get(1).target().output());
+    }
+
+    @Test
+    void testConvertToPathRemovesOutputOnFailure() throws Exception {
+        Path sourceFile = tempDir.resolve("test-broken.yaml");
+        Files.write(sourceFile, "invalid yaml content: [}".getBytes());
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source(sourceFile.toString())
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        Path outputFile = tempDir.resolve("broken.json");
+        assertThrows(Exception.class, () -> converter.convertTo(options, outputFile));
+        assertFalse(Files.exists(outputFile));
+
+        // A failed conversion keeps the last good output
+        Files.writeString(outputFile, "{\"swagger\": \"2.0\"}");
+        assertThrows(Exception.class, () -> converter.convertTo(options, outputFile));
+        assertEquals("{\"swagger\": \"2.0\"}", Files.readString(outputFile));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count(), "Temporary files must not be left behind");
+        }
+    }
+
     @Test
     void testConvertFileNotFound() {
         ConversionOptions options = ConversionOptions.builder()
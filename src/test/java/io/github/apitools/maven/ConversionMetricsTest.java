@@ -0,0 +1,75 @@
+package io.github.apitools.maven;
+
+import io.github.apitools.maven.ConversionMetrics.Stage;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionMetricsTest {
+
+    @Test
+    void testStagesTimedTwiceAreSummed() {
+        ConversionMetrics metrics = ConversionMetrics.builder()
+            .stage(Stage.PARSE, 2_000_000, 100)
+            .stage(Stage.PARSE, 3_000_000, 50)
+            .stage(Stage.SERIALIZE, 1_000_000, -1)
+            .build();
+
+        assertEquals(5_000_000, metrics.getStage(Stage.PARSE).wallNanos());
+        assertEquals(150, metrics.getStage(Stage.PARSE).allocatedBytes());
+        assertEquals(-1, metrics.getStage(Stage.SERIALIZE).allocatedBytes());
+        assertNull(metrics.getStage(Stage.VALIDATE));
+        assertEquals(6_000_000, metrics.getTotalNanos());
+    }
+
+    @Test
+    void testTimerRecordsElapsedTime() throws Exception {
+        ConversionMetrics.Builder builder = ConversionMetrics.builder();
+        try (ConversionMetrics.StageTimer timer = builder.time(Stage.READ)) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(builder.build().getStage(Stage.READ).wallNanos() >= 5_000_000);
+    }
+
+    @Test
+    void testModelCounts() {
+        OpenAPI openAPI = new OpenAPI()
+            .paths(new Paths()
+                .addPathItem("/a", new PathItem().get(new Operation()).post(new Operation()))
+                .addPathItem("/b", new PathItem().delete(new Operation())))
+            .components(new Components().addSchemas("Name", new StringSchema()));
+
+        ConversionMetrics metrics = ConversionMetrics.builder().model(openAPI).build();
+
+        assertEquals(2, metrics.getPathCount());
+        assertEquals(3, metrics.getOperationCount());
+        assertEquals(1, metrics.getSchemaCount());
+    }
+
+    @Test
+    void testToTable() {
+        List<String> table = ConversionMetrics.builder()
+            .stage(Stage.READ, 1_500_000, 2048)
+            .stage(Stage.VALIDATE, 500_000, -1)
+            .inputBytes(512)
+            .outputBytes(3 * 1024 * 1024)
+            .build()
+            .toTable();
+
+        assertEquals("Stage         Time (ms)      Allocated", table.get(0));
+        assertEquals("read                1.5         2.0 KB", table.get(1));
+        assertEquals("validate            0.5            n/a", table.get(2));
+        assertEquals("total               2.0            n/a", table.get(3));
+        assertEquals("Input: 512 B, output: 3.0 MB", table.get(4));
+        assertEquals("Model: 0 paths, 0 operations, 0 schemas", table.get(5));
+    }
+}
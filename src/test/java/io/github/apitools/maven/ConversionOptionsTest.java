@@ -61,4 +61,32 @@ class ConversionOptionsTest {
         assertFalse(jsonOptions.isValidate());
         assertFalse(jsonOptions.isFillMissing());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeterministicChangesFingerprint() {
+        ConversionOptions.Builder builder = ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2);
+        String plain = builder.build().fingerprint();
+
+        ConversionOptions options = builder.deterministic(true).build();
+
+        assertTrue(options.isDeterministic());
+        assertNotEquals(plain, options.fingerprint());
+    }
+
+    @Test
+    void testResolveAndFlattenChangeFingerprint() {
+        ConversionOptions.Builder builder = ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2);
+        ConversionOptions defaults = builder.build();
+
+        assertTrue(defaults.isResolve());
+        assertTrue(defaults.isFlatten());
+        assertNotEquals(defaults.fingerprint(), builder.resolve(false).build().fingerprint());
+        assertNotEquals(defaults.fingerprint(), builder.resolve(true).flatten(false).build().fingerprint());
+    }
+}
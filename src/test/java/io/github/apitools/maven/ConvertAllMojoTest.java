@@ -0,0 +1,93 @@
+package io.github.apitools.maven;
+
+import io.github.apitools.maven.utils.FingerprintStore.Fingerprint;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConvertAllMojoTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConvertAllMojo mojo;
+
+    @BeforeEach
+    void setUp() {
+        mojo = new ConvertAllMojo();
+        mojo.outputDirectory = tempDir.toFile();
+        mojo.from = "openapi_3";
+        mojo.to = "swagger_2";
+        mojo.syntax = "json";
+        mojo.order = "openapi";
+    }
+
+    @Test
+    void testOutputPathsKeepDirectoryLayout() throws Exception {
+        Map<Path, Path> outputs = mojo.outputPaths(List.of(Path.of("api.yaml"), Path.of("v2", "api.yaml")));
+
+        assertEquals(tempDir.resolve("api_swagger_2.json"), outputs.get(Path.of("api.yaml")));
+        assertEquals(tempDir.resolve("v2").resolve("api_swagger_2.json"), outputs.get(Path.of("v2", "api.yaml")));
+    }
+
+    @Test
+    void testOutputPathCollisionFails() {
+        MojoExecutionException e = assertThrows(MojoExecutionException.class,
+            () -> mojo.outputPaths(List.of(Path.of("api.yaml"), Path.of("api.json"))));
+
+        assertTrue(e.getMessage().contains("api.yaml"));
+        assertTrue(e.getMessage().contains("api.json"));
+    }
+
+    @Test
+    void testFingerprintCoversReferencedFiles() throws Exception {
+        Path schemas = Files.writeString(tempDir.resolve("schemas.yaml"), "Pet: {type: object}\n");
+        Path spec = Files.writeString(tempDir.resolve("api.yaml"),
+            "schema: {$ref: '" + schemas.toAbsolutePath() + "#/Pet'}\n");
+
+        Fingerprint original = fingerprint(incrementalMojo(), spec);
+        assertNotNull(original);
+
+        Files.writeString(schemas, "Pet: {type: string}\n");
+        assertNotEquals(original.value(), fingerprint(incrementalMojo(), spec).value());
+
+        Files.writeString(spec, "schema: {$ref: 'https://example.com/schemas.yaml#/Pet'}\n");
+        assertNull(fingerprint(incrementalMojo(), spec));
+    }
+
+    @Test
+    void testSourceHashedOncePerExecution() throws Exception {
+        Path spec = Files.writeString(tempDir.resolve("api.yaml"), "openapi: 3.0.1\n");
+        ConvertAllMojo execution = incrementalMojo();
+
+        Fingerprint first = fingerprint(execution, spec);
+        Files.writeString(spec, "openapi: 3.0.2\n");
+
+        assertEquals(first, fingerprint(execution, spec));
+        assertNotEquals(first, fingerprint(incrementalMojo(), spec));
+        assertNull(mojo.buildOptions(spec.toString()).getSourceHash());
+    }
+
+    private ConvertAllMojo incrementalMojo() {
+        ConvertAllMojo execution = new ConvertAllMojo();
+        execution.from = "openapi_3";
+        execution.to = "swagger_2";
+        execution.syntax = "json";
+        execution.order = "openapi";
+        execution.incremental = true;
+        execution.fingerprintFile = tempDir.resolve("fingerprints.properties").toFile();
+        return execution;
+    }
+
+    private static Fingerprint fingerprint(ConvertAllMojo execution, Path spec) {
+        return execution.fingerprint(execution.buildOptions(spec.toString()));
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.apitools.maven;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadModeTest {
+
+    @Test
+    void testEnumValues() {
+        assertEquals("platform", ThreadMode.PLATFORM.getValue());
+        assertEquals("virtual", ThreadMode.VIRTUAL.getValue());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("platform", ThreadMode.PLATFORM.toString());
+        assertEquals("virtual", ThreadMode.VIRTUAL.toString());
+    }
+
+    @Test
+    void testFromString() {
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromString("platform"));
+        assertEquals(ThreadMode.VIRTUAL, ThreadMode.fromString("virtual"));
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromString("PLATFORM"));
+        assertEquals(ThreadMode.VIRTUAL, ThreadMode.fromString("VIRTUAL"));
+    }
+
+    @Test
+    void testFromStringInvalidMode() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            ThreadMode.fromString("invalid");
+        });
+        assertTrue(exception.getMessage().contains("Unrecognized thread mode"));
+    }
+
+    @Test
+    void testIsSupported() {
+        assertTrue(ThreadMode.isSupported("platform"));
+        assertTrue(ThreadMode.isSupported("virtual"));
+        assertTrue(ThreadMode.isSupported("PLATFORM"));
+        assertTrue(ThreadMode.isSupported("VIRTUAL"));
+        assertFalse(ThreadMode.isSupported("invalid"));
+        assertFalse(ThreadMode.isSupported(""));
+        assertFalse(ThreadMode.isSupported(null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package io.github.apitools.maven.converters;
+
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FromOpenApiConverterConcurrencyTest {
+
+    private static final int DOCUMENTS = 12;
+    private static final int ROUNDS = 20;
+    private static final int THREADS = 8;
+
+    @Test
+    void testConcurrentConversionsMatchSerialRuns() throws Exception {
+        FromOpenApiConverter converter = new FromOpenApiConverter(mock(Log.class));
+
+        List<OpenAPI> documents = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents.add(createDocument(i));
+        }
+        List<ConversionOptions> targets = List.of(
+            options(SpecFormat.SWAGGER_2, OutputSyntax.JSON),
+            options(SpecFormat.SWAGGER_2, OutputSyntax.YAML),
+            options(SpecFormat.OPENAPI_3, OutputSyntax.JSON));
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            for (int t = 0; t < targets.size(); t++) {
+                expected.put(i + "/" + t, converter.convertFromOpenAPI(documents.get(i), targets.get(t)));
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            keys.addAll(expected.keySet());
+        }
+        Collections.shuffle(keys, new java.util.Random(42));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (String key : keys) {
+                String[] parts = key.split("/");
+                OpenAPI document = documents.get(Integer.parseInt(parts[0]));
+                ConversionOptions target = targets.get(Integer.parseInt(parts[1]));
+                Callable<String> task = () -> converter.convertFromOpenAPI(document, target);
+                futures.add(pool.submit(task));
+            }
+
+            for (int i = 0; i < keys.size(); i++) {
+                assertEquals(expected.get(keys.get(i)), futures.get(i).get(), "Mismatch for " + keys.get(i));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelConversionsShareTheCallersPool() throws Exception {
+        FromOpenApiConverter serial = new FromOpenApiConverter(mock(Log.class));
+        ForkJoinPool shared = new ForkJoinPool(4);
+        FromOpenApiConverter converter = new FromOpenApiConverter(mock(Log.class), shared);
+
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < DOCUMENTS; i++) {
+                OpenAPI document = createDocument(i);
+                for (SpecFormat to : SpecFormat.values()) {
+                    ConversionOptions target = ConversionOptions.builder()
+                        .source("test.yaml")
+                        .from(SpecFormat.OPENAPI_3)
+                        .to(to)
+                        .syntax(OutputSyntax.YAML)
+                        .parallelism(4)
+                        .build();
+                    expected.add(serial.convertFromOpenAPI(document, options(to, OutputSyntax.YAML)));
+                    futures.add(callers.submit(() -> converter.convertFromOpenAPI(document, target)));
+                }
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i), futures.get(i).get());
+            }
+            // The conversions ran on the shared pool and left it to its owner
+            assertTrue(shared.getPoolSize() > 0);
+            assertFalse(shared.isShutdown());
+        } finally {
+            callers.shutdownNow();
+            shared.shutdownNow();
+        }
+    }
+
+    private ConversionOptions options(SpecFormat to, OutputSyntax syntax) {
+        return ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(to)
+            .syntax(syntax)
+            .build();
+    }
+
+    private OpenAPI createDocument(int index) {
+        OpenAPI openAPI = new OpenAPI();
+        openAPI.openapi("3.0.0");
+        openAPI.info(new Info().title("API " + index).version("1." + index + ".0"));
+
+        Components components = new Components();
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        Paths paths = new Paths();
+
+        for (int r = 0; r <= index; r++) {
+            String name = "Resource" + index + "_" + r;
+
+            Schema<?> schema = new ObjectSchema()
+                .addProperty("id", new IntegerSchema().format("int64"))
+                .addProperty("name", new StringSchema().maxLength(10 + r));
+            schemas.put(name, schema);
+
+            parameters.put(name + "Id", idParameter(name));
+
+            Operation get = new Operation()
+                .operationId("get" + name)
+                .addParametersItem(idParameter(name))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse()
+                    .description("OK")
+                    .content(new Content().addMediaType("application/json",
+                        new MediaType().schema(new Schema<>().$ref("#/components/schemas/" + name))))));
+            paths.addPathItem("/" + name.toLowerCase() + "/{id}", new PathItem().get(get));
+        }
+
+        components.setSchemas(schemas);
+        components.setParameters(parameters);
+        openAPI.setComponents(components);
+        openAPI.setPaths(paths);
+        return openAPI;
+    }
+
+    private Parameter idParameter(String resource) {
+        Parameter param = new PathParameter();
+        param.setName("id");
+        param.setRequired(true);
+        param.setDescription(resource + " identifier");
+        param.setSchema(new IntegerSchema().format("int64"));
+        return param;
+    }
+}
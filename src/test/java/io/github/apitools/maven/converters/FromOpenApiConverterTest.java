@@ -2,6 +2,7 @@ package io.github.apitools.maven.converters;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import io.github.apitools.maven.ConversionOptions;
 import io.github.apitools.maven.FieldOrder;
@@ -14,10 +15,12 @@ import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.apache.maven.plugin.logging.Log;
@@ -26,7 +29,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -233,6 +241,307 @@ class FromOpenApiConverterTest {
         assertTrue(result.contains("format: \"int64\""));
     }
 
+    @Test
+    void testParameterMatchesFirstDeclaredGlobalParameter() throws Exception {
+        OpenAPI openAPI = createOpenAPIWithParameterReferences();
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        parameters.put("First", openAPI.getComponents().getParameters().get("Id"));
+        parameters.put("Second", openAPI.getComponents().getParameters().get("Id"));
+        openAPI.getComponents().setParameters(parameters);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        JsonNode jsonNode = jsonMapper.readTree(converter.convertFromOpenAPI(openAPI, options));
+        JsonNode param = jsonNode.get("paths").get("/items/{id}").get("get").get("parameters").get(0);
+        assertEquals("#/parameters/First", param.get("$ref").asText());
+    }
+
+    @Test
+    void testParameterDifferingFromGlobalParameterIsExpanded() throws Exception {
+        OpenAPI openAPI = createOpenAPIWithParameterReferences();
+        Parameter operationParam = openAPI.getPaths().get("/items/{id}").getGet().getParameters().get(0);
+        operationParam.getSchema().setMinimum(java.math.BigDecimal.ONE);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        JsonNode jsonNode = jsonMapper.readTree(converter.convertFromOpenAPI(openAPI, options));
+        JsonNode param = jsonNode.get("paths").get("/items/{id}").get("get").get("parameters").get(0);
+        assertNull(param.get("$ref"));
+        assertEquals("id", param.get("name").asText());
+        assertEquals("integer", param.get("type").asText());
+    }
+
+    @Test
+    void testSharedSchemaInstanceConvertedConsistently() throws Exception {
+        OpenAPI openAPI = createBasicOpenAPI();
+        Schema<?> shared = new Schema<>();
+        shared.setType("object");
+        shared.addProperty("id", new IntegerSchema());
+        shared.addProperty("tags", new io.swagger.v3.oas.models.media.ArraySchema().items(new StringSchema()));
+
+        Paths paths = new Paths();
+        for (String name : new String[] {"/a", "/b"}) {
+            Operation operation = new Operation();
+            operation.setResponses(new ApiResponses().addApiResponse("200", new ApiResponse()
+                .description("OK")
+                .content(new io.swagger.v3.oas.models.media.Content().addMediaType("application/json",
+                    new io.swagger.v3.oas.models.media.MediaType().schema(shared)))));
+            paths.addPathItem(name, new PathItem().get(operation));
+        }
+        openAPI.setPaths(paths);
+
+        ConversionOptions options = ConversionOptions.builder()
+            .source("test.yaml")
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+
+        JsonNode document = converter.convertToSwagger2(openAPI, options, new java.io.ByteArrayOutputStream());
+        JsonNode schemaA = document.get("paths").get("/a").get("get").get("responses").get("200").get("schema");
+        JsonNode schemaB = document.get("paths").get("/b").get("get").get("responses").get("200").get("schema");
+
+        // The shared instance is converted once and its node reused for every occurrence
+        assertSame(schemaA, schemaB);
+        assertEquals("string", schemaA.get("properties").get("tags").get("items").get("type").asText());
+
+        JsonNode written = jsonMapper.readTree(converter.convertFromOpenAPI(openAPI, options));
+        assertEquals(document, written);
+    }
+
+    @Test
+    void testConvertToOutputStreamMatchesString() throws Exception {
+        OpenAPI openAPI = createComplexOpenAPI();
+
+        for (SpecFormat target : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                ConversionOptions options = ConversionOptions.builder()
+                    .source("test.yaml")
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(target)
+                    .syntax(syntax)
+                    .build();
+
+                java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        fail("The converter must not close the caller's stream");
+                    }
+                };
+                converter.convertFromOpenAPI(openAPI, options, out);
+
+                assertEquals(converter.convertFromOpenAPI(openAPI, options),
+                    out.toString(java.nio.charset.StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void testConvertToSwagger2ReturnsWrittenDocument() throws Exception {
+        OpenAPI openAPI = createComplexOpenAPI();
+
+        for (OutputSyntax syntax : OutputSyntax.values()) {
+            ConversionOptions options = ConversionOptions.builder()
+                .source("test.yaml")
+                .from(SpecFormat.OPENAPI_3)
+                .to(SpecFormat.SWAGGER_2)
+                .syntax(syntax)
+                .build();
+
+            java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+            JsonNode tree = converter.convertToSwagger2(openAPI, options, out);
+
+            String written = out.toString(java.nio.charset.StandardCharsets.UTF_8);
+            assertEquals(converter.convertFromOpenAPI(openAPI, options), written);
+            ObjectMapper reader = syntax == OutputSyntax.YAML ? yamlMapper : jsonMapper;
+            assertEquals(reader.readTree(written), tree);
+        }
+    }
+
+    @Test
+    void testAlphaOrderSortsKeysAtEveryLevel() throws Exception {
+        OpenAPI openAPI = createComplexOpenAPI();
+        openAPI.getPaths().addPathItem("/accounts", openAPI.getPaths().get("/users/{id}"));
+        openAPI.getPaths().addExtension("x-paths", true);
+        openAPI.getInfo().addExtension("x-zeta", "z");
+        openAPI.getInfo().addExtension("x-alpha", "a");
+
+        for (SpecFormat target : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                ConversionOptions.Builder builder = ConversionOptions.builder()
+                    .source("test.yaml")
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(target)
+                    .syntax(syntax);
+                String declared = converter.convertFromOpenAPI(openAPI, builder.order(FieldOrder.OPENAPI).build());
+                String alpha = converter.convertFromOpenAPI(openAPI, builder.order(FieldOrder.ALPHA).build());
+
+                ObjectMapper reader = syntax == OutputSyntax.YAML ? yamlMapper : jsonMapper;
+                JsonNode alphaTree = reader.readTree(alpha);
+                assertEquals(reader.readTree(declared), alphaTree, target + " " + syntax);
+                assertKeysSorted(alphaTree, "");
+            }
+        }
+    }
+
+    @Test
+    void testDeterministicOutputIgnoresMapOrderAndNumberScale() throws Exception {
+        OpenAPI first = createComplexOpenAPI();
+        first.getInfo().addExtension("x-zeta", "z");
+        first.getInfo().addExtension("x-alpha", "a");
+        Schema<?> user = first.getComponents().getSchemas().get("User");
+        user.getProperties().get("id").minimum(new BigDecimal("1.0")).maximum(new BigDecimal("1E+3"));
+
+        OpenAPI second = createComplexOpenAPI();
+        second.getInfo().addExtension("x-alpha", "a");
+        second.getInfo().addExtension("x-zeta", "z");
+        Schema<?> reorderedUser = second.getComponents().getSchemas().get("User");
+        reorderedUser.setProperties(reversed(reorderedUser.getProperties()));
+        reorderedUser.getProperties().get("id").minimum(BigDecimal.ONE).maximum(new BigDecimal("1000.00"));
+
+        for (SpecFormat target : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                ConversionOptions options = ConversionOptions.builder()
+                    .source("test.yaml")
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(target)
+                    .syntax(syntax)
+                    .order(FieldOrder.OPENAPI)
+                    .deterministic(true)
+                    .build();
+
+                String result = converter.convertFromOpenAPI(first, options);
+                assertEquals(result, converter.convertFromOpenAPI(second, options), target + " " + syntax);
+                assertFalse(result.contains("\r"));
+
+                ObjectMapper reader = syntax == OutputSyntax.YAML ? yamlMapper : jsonMapper;
+                JsonNode tree = reader.readTree(result);
+                assertKeysSorted(tree, "");
+                JsonNode id = target == SpecFormat.SWAGGER_2
+                    ? tree.get("definitions").get("User").get("properties").get("id")
+                    : tree.get("components").get("schemas").get("User").get("properties").get("id");
+                assertEquals("1", id.get("minimum").asText());
+                assertEquals("1000", id.get("maximum").asText());
+            }
+        }
+    }
+
+    @Test
+    void testDeterministicOutputCanonicalizesValues() throws Exception {
+        OpenAPI first = createValuesOpenAPI("1.50", "2.0", false);
+        OpenAPI second = createValuesOpenAPI("1.5", "2", true);
+
+        for (SpecFormat target : SpecFormat.values()) {
+            for (OutputSyntax syntax : OutputSyntax.values()) {
+                ConversionOptions options = ConversionOptions.builder()
+                    .source("test.yaml")
+                    .from(SpecFormat.OPENAPI_3)
+                    .to(target)
+                    .syntax(syntax)
+                    .deterministic(true)
+                    .build();
+
+                String result = converter.convertFromOpenAPI(first, options);
+                assertEquals(result, converter.convertFromOpenAPI(second, options), target + " " + syntax);
+
+                ObjectMapper reader = syntax == OutputSyntax.YAML ? yamlMapper : jsonMapper;
+                JsonNode tree = reader.readTree(result);
+                assertKeysSorted(tree, "");
+                JsonNode price = target == SpecFormat.SWAGGER_2
+                    ? tree.get("definitions").get("Price")
+                    : tree.get("components").get("schemas").get("Price");
+                assertEquals("1.5", price.get("default").asText());
+                assertEquals("2", price.get("enum").get(1).asText());
+                JsonNode ratio = target == SpecFormat.SWAGGER_2
+                    ? tree.get("definitions").get("Ratio")
+                    : tree.get("components").get("schemas").get("Ratio");
+                assertEquals("[1.5,2]", ratio.get("enum").toString());
+            }
+        }
+    }
+
+    /**
+     * A number schema and a query parameter with decimal defaults and enums, and untyped
+     * values as the parser reads them, either as doubles with keys in source order or as
+     * decimals with keys reversed.
+     */
+    private OpenAPI createValuesOpenAPI(String oneAndAHalf, String two, boolean decimals) {
+        OpenAPI openAPI = createBasicOpenAPI();
+
+        NumberSchema price = new NumberSchema();
+        price.setDefault(new BigDecimal(oneAndAHalf));
+        price.setEnum(List.of(BigDecimal.ONE, new BigDecimal(two), new BigDecimal(oneAndAHalf)));
+
+        Object min = decimals ? new BigDecimal(oneAndAHalf) : (Object) Double.valueOf(oneAndAHalf);
+        Object max = decimals ? new BigDecimal(two) : (Object) Double.valueOf(two);
+        Map<String, Object> limits = new LinkedHashMap<>();
+        ObjectNode example = jsonMapper.createObjectNode();
+        if (decimals) {
+            limits.put("min", min);
+            limits.put("max", max);
+            example.put("price", new BigDecimal(oneAndAHalf));
+            example.put("currency", "EUR");
+        } else {
+            limits.put("max", max);
+            limits.put("min", min);
+            example.put("currency", "EUR");
+            example.put("price", Double.valueOf(oneAndAHalf));
+        }
+        Schema<Object> range = new Schema<>();
+        range.setType("object");
+        range.setDefault(limits);
+        range.setExample(example);
+
+        Schema<Object> ratio = new Schema<>();
+        ratio.setEnum(List.of(min, max));
+
+        openAPI.setComponents(new Components()
+            .addSchemas("Price", price)
+            .addSchemas("Range", range)
+            .addSchemas("Ratio", ratio));
+
+        NumberSchema limit = new NumberSchema();
+        limit.setDefault(new BigDecimal(oneAndAHalf));
+        Operation operation = new Operation()
+            .addParametersItem(new QueryParameter().name("limit").schema(limit))
+            .responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK")));
+        openAPI.getPaths().addPathItem("/prices", new PathItem().get(operation));
+        return openAPI;
+    }
+
+    private static Map<String, Schema> reversed(Map<String, Schema> map) {
+        List<String> keys = new ArrayList<>(map.keySet());
+        Collections.reverse(keys);
+        Map<String, Schema> copy = new LinkedHashMap<>();
+        keys.forEach(key -> copy.put(key, map.get(key)));
+        return copy;
+    }
+
+    private static void assertKeysSorted(JsonNode node, String path) {
+        String previous = null;
+        for (Map.Entry<String, JsonNode> field : (Iterable<Map.Entry<String, JsonNode>>) node::fields) {
+            if (previous != null) {
+                assertTrue(previous.compareTo(field.getKey()) < 0,
+                    "Keys out of order at " + path + ": " + previous + ", " + field.getKey());
+            }
+            previous = field.getKey();
+            assertKeysSorted(field.getValue(), path + "/" + field.getKey());
+        }
+        for (int i = 0; i < node.size() && node.isArray(); i++) {
+            assertKeysSorted(node.get(i), path + "/" + i);
+        }
+    }
+
     private OpenAPI createBasicOpenAPI() {
         OpenAPI openAPI = new OpenAPI();
         openAPI.openapi("3.0.0");
@@ -0,0 +1,92 @@
+package io.github.apitools.maven.converters;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedConversionsTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testResultsFollowSequenceOrder() {
+        List<Supplier<Integer>> tasks = IntStream.range(0, 50)
+            .<Supplier<Integer>>mapToObj(i -> () -> {
+                // Later tasks finish first
+                sleep((50 - i) % 7);
+                return i;
+            })
+            .toList();
+
+        List<Integer> results = new ArrayList<>();
+        try (OrderedConversions<Integer> queue = new OrderedConversions<>(pool, tasks.iterator(), 8)) {
+            for (int i = 0; i < tasks.size(); i++) {
+                results.add(queue.next());
+            }
+        }
+
+        assertEquals(IntStream.range(0, 50).boxed().toList(), results);
+    }
+
+    @Test
+    void testSubmitsAtMostWindowAhead() {
+        AtomicInteger submitted = new AtomicInteger();
+        Iterator<Supplier<Integer>> tasks = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return submitted.get() < 20;
+            }
+
+            @Override
+            public Supplier<Integer> next() {
+                int i = submitted.getAndIncrement();
+                return () -> i;
+            }
+        };
+
+        try (OrderedConversions<Integer> queue = new OrderedConversions<>(pool, tasks, 3)) {
+            queue.next();
+            assertEquals(3, submitted.get());
+            queue.next();
+            assertEquals(4, submitted.get());
+        }
+    }
+
+    @Test
+    void testFailureIsRethrownInOrder() {
+        List<Supplier<Integer>> tasks = List.of(
+            () -> 1,
+            () -> {
+                throw new IllegalStateException("broken entry");
+            },
+            () -> 3);
+
+        try (OrderedConversions<Integer> queue = new OrderedConversions<>(pool, tasks.iterator(), 4)) {
+            assertEquals(1, queue.next());
+            IllegalStateException error = assertThrows(IllegalStateException.class, queue::next);
+            assertEquals("broken entry", error.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
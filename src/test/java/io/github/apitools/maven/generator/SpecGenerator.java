@@ -0,0 +1,497 @@
+package io.github.apitools.maven.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds synthetic Swagger 2 and OpenAPI 3 documents of a chosen size for scale tests
+ * and benchmarks. The layout of the API is drawn once from the seed and then rendered
+ * in either format, so the same settings always produce the same document and both
+ * formats describe the same API.
+ */
+public class SpecGenerator {
+
+    private static final String[] METHODS = {"get", "put", "post", "delete"};
+    private static final String[] PROPERTY_TYPES = {"string", "integer", "number", "boolean", "enum", "ref", "refArray"};
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final YAMLMapper YAML_MAPPER = new YAMLMapper();
+
+    private long seed = 42;
+    private int paths = 10;
+    private int operationsPerPath = 2;
+    private int globalParameters = 0;
+    private int schemas = 10;
+    private int depth = 2;
+    private int allOfChain = 0;
+    private int enumValues = 0;
+    private boolean recursive = false;
+
+    private SpecGenerator() {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private SpecGenerator generator = new SpecGenerator();
+
+        /** Seed for every random choice (property types, methods, parameters used). */
+        public Builder seed(long seed) {
+            generator.seed = seed;
+            return this;
+        }
+
+        /** Number of path items. */
+        public Builder paths(int paths) {
+            generator.paths = paths;
+            return this;
+        }
+
+        /** Operations per path item, between 1 and 4 (GET, PUT, POST, DELETE in that order). */
+        public Builder operationsPerPath(int operationsPerPath) {
+            generator.operationsPerPath = Math.max(1, Math.min(METHODS.length, operationsPerPath));
+            return this;
+        }
+
+        /** Number of shared query parameters declared globally and referenced by operations. */
+        public Builder globalParameters(int globalParameters) {
+            generator.globalParameters = globalParameters;
+            return this;
+        }
+
+        /** Number of component schemas (definitions). */
+        public Builder schemas(int schemas) {
+            generator.schemas = Math.max(1, schemas);
+            return this;
+        }
+
+        /** Levels of inline objects nested inside every schema. */
+        public Builder depth(int depth) {
+            generator.depth = depth;
+            return this;
+        }
+
+        /** Length of {@code allOf} inheritance chains; 0 disables inheritance. */
+        public Builder allOfChain(int allOfChain) {
+            generator.allOfChain = allOfChain;
+            return this;
+        }
+
+        /** Values in each enum property; 0 leaves enums out. */
+        public Builder enumValues(int enumValues) {
+            generator.enumValues = enumValues;
+            return this;
+        }
+
+        /** Whether every schema also refers to itself through a {@code children} array. */
+        public Builder recursive(boolean recursive) {
+            generator.recursive = recursive;
+            return this;
+        }
+
+        public SpecGenerator build() {
+            return generator;
+        }
+    }
+
+    /** Total number of operations in the generated document. */
+    public int operationCount() {
+        return paths * operationsPerPath;
+    }
+
+    // Layout drawn from the seed, shared by both renderings
+
+    private record PropertyPlan(String name, String type, int target) {}
+
+    private record SchemaPlan(List<PropertyPlan> properties, int parent) {}
+
+    private record OperationPlan(String method, List<Integer> globalParameters) {}
+
+    private record PathPlan(int model, List<OperationPlan> operations) {}
+
+    private record Plan(List<SchemaPlan> schemas, List<PathPlan> paths) {}
+
+    private Plan plan() {
+        Random random = new Random(seed);
+
+        List<SchemaPlan> schemaPlans = new ArrayList<>();
+        for (int s = 0; s < schemas; s++) {
+            List<PropertyPlan> properties = new ArrayList<>();
+            int count = 3 + random.nextInt(6);
+            for (int p = 0; p < count; p++) {
+                String type = PROPERTY_TYPES[random.nextInt(PROPERTY_TYPES.length)];
+                if (type.equals("enum") && enumValues == 0) {
+                    type = "string";
+                }
+                properties.add(new PropertyPlan("field" + p, type, random.nextInt(schemas)));
+            }
+            // Every allOfChain-th schema starts a new chain; the others extend the previous one
+            int parent = allOfChain > 0 && s % allOfChain != 0 ? s - 1 : -1;
+            schemaPlans.add(new SchemaPlan(properties, parent));
+        }
+
+        List<PathPlan> pathPlans = new ArrayList<>();
+        for (int p = 0; p < paths; p++) {
+            List<OperationPlan> operations = new ArrayList<>();
+            for (int o = 0; o < operationsPerPath; o++) {
+                List<Integer> used = new ArrayList<>();
+                for (int g = 0; g < globalParameters; g++) {
+                    if (random.nextInt(3) == 0) {
+                        used.add(g);
+                    }
+                }
+                operations.add(new OperationPlan(METHODS[o], used));
+            }
+            pathPlans.add(new PathPlan(random.nextInt(schemas), operations));
+        }
+
+        return new Plan(schemaPlans, pathPlans);
+    }
+
+    // OpenAPI 3
+
+    public OpenAPI openApi() {
+        Plan plan = plan();
+
+        Components components = new Components();
+        Map<String, Schema> componentSchemas = new LinkedHashMap<>();
+        for (int s = 0; s < plan.schemas().size(); s++) {
+            componentSchemas.put(schemaName(s), openApiSchema(s, plan.schemas().get(s)));
+        }
+        components.setSchemas(componentSchemas);
+
+        if (globalParameters > 0) {
+            Map<String, Parameter> parameters = new LinkedHashMap<>();
+            for (int g = 0; g < globalParameters; g++) {
+                Parameter parameter = new QueryParameter();
+                parameter.setName(parameterName(g));
+                parameter.setDescription("Shared parameter " + g);
+                parameter.setSchema(new IntegerSchema().minimum(BigDecimal.ZERO));
+                parameters.put(parameterName(g), parameter);
+            }
+            components.setParameters(parameters);
+        }
+
+        Paths pathItems = new Paths();
+        for (int p = 0; p < plan.paths().size(); p++) {
+            pathItems.addPathItem(pathName(p), openApiPathItem(p, plan.paths().get(p)));
+        }
+
+        return new OpenAPI()
+            .openapi("3.0.1")
+            .info(new Info().title("Generated API").version("1.0.0").description(description()))
+            .addServersItem(new Server().url("https://api.example.com/v1"))
+            .paths(pathItems)
+            .components(components);
+    }
+
+    public String openApiYaml() {
+        return Yaml.pretty(openApi());
+    }
+
+    public String openApiJson() {
+        return Json.pretty(openApi());
+    }
+
+    private Schema<?> openApiSchema(int index, SchemaPlan plan) {
+        Schema<?> own = new ObjectSchema();
+        own.addProperty("id", new IntegerSchema().format("int64"));
+        for (PropertyPlan property : plan.properties()) {
+            own.addProperty(property.name(), openApiProperty(property));
+        }
+        if (recursive) {
+            own.addProperty("children", new ArraySchema().items(new Schema<>().$ref(schemaRef(index))));
+        }
+        own.setRequired(List.of("id"));
+
+        Schema<?> parent = own;
+        for (int level = 0; level < depth; level++) {
+            Schema<?> nested = new ObjectSchema()
+                .addProperty("level", new IntegerSchema().description("Level " + level))
+                .addProperty("label", new StringSchema());
+            parent.addProperty("nested", nested);
+            parent = nested;
+        }
+
+        if (plan.parent() < 0) {
+            return own;
+        }
+        ComposedSchema composed = new ComposedSchema();
+        composed.addAllOfItem(new Schema<>().$ref(schemaRef(plan.parent())));
+        composed.addAllOfItem(own);
+        return composed;
+    }
+
+    private Schema<?> openApiProperty(PropertyPlan property) {
+        return switch (property.type()) {
+            case "integer" -> new IntegerSchema().format("int32").maximum(BigDecimal.valueOf(1000));
+            case "number" -> new NumberSchema().format("double");
+            case "boolean" -> new BooleanSchema();
+            case "enum" -> {
+                StringSchema schema = new StringSchema();
+                for (int v = 0; v < enumValues; v++) {
+                    schema.addEnumItem("VALUE_" + v);
+                }
+                yield schema;
+            }
+            case "ref" -> new Schema<>().$ref(schemaRef(property.target()));
+            case "refArray" -> new ArraySchema().items(new Schema<>().$ref(schemaRef(property.target())));
+            default -> new StringSchema().maxLength(64).description("Text " + property.name());
+        };
+    }
+
+    private PathItem openApiPathItem(int index, PathPlan plan) {
+        PathItem pathItem = new PathItem();
+        String model = schemaRef(plan.model());
+
+        for (OperationPlan operationPlan : plan.operations()) {
+            Operation operation = new Operation().operationId(operationPlan.method() + "Resource" + index);
+
+            PathParameter id = new PathParameter();
+            id.setName("id");
+            id.setRequired(true);
+            id.setSchema(new IntegerSchema().format("int64"));
+            operation.addParametersItem(id);
+            for (int g : operationPlan.globalParameters()) {
+                operation.addParametersItem(new Parameter().$ref("#/components/parameters/" + parameterName(g)));
+            }
+
+            ApiResponses responses = new ApiResponses();
+            switch (operationPlan.method()) {
+                case "put", "post" -> {
+                    operation.requestBody(new RequestBody().required(true).content(json(model)));
+                    responses.addApiResponse("200", new ApiResponse().description("Saved").content(json(model)));
+                }
+                case "delete" -> responses.addApiResponse("204", new ApiResponse().description("Deleted"));
+                default -> responses.addApiResponse("200", new ApiResponse().description("OK").content(json(model)));
+            }
+            responses.addApiResponse("404", new ApiResponse().description("Not found"));
+            operation.responses(responses);
+
+            pathItem.operation(PathItem.HttpMethod.valueOf(operationPlan.method().toUpperCase()), operation);
+        }
+        return pathItem;
+    }
+
+    private static Content json(String ref) {
+        return new Content().addMediaType("application/json", new MediaType().schema(new Schema<>().$ref(ref)));
+    }
+
+    // Swagger 2
+
+    public ObjectNode swagger2() {
+        Plan plan = plan();
+
+        ObjectNode root = JSON_MAPPER.createObjectNode();
+        root.put("swagger", "2.0");
+        root.putObject("info")
+            .put("title", "Generated API")
+            .put("version", "1.0.0")
+            .put("description", description());
+        root.put("host", "api.example.com");
+        root.put("basePath", "/v1");
+        root.putArray("schemes").add("https");
+        root.putArray("consumes").add("application/json");
+        root.putArray("produces").add("application/json");
+
+        ObjectNode pathsNode = root.putObject("paths");
+        for (int p = 0; p < plan.paths().size(); p++) {
+            pathsNode.set(pathName(p), swagger2PathItem(p, plan.paths().get(p)));
+        }
+
+        ObjectNode definitions = root.putObject("definitions");
+        for (int s = 0; s < plan.schemas().size(); s++) {
+            definitions.set(schemaName(s), swagger2Schema(s, plan.schemas().get(s)));
+        }
+
+        if (globalParameters > 0) {
+            ObjectNode parameters = root.putObject("parameters");
+            for (int g = 0; g < globalParameters; g++) {
+                parameters.putObject(parameterName(g))
+                    .put("name", parameterName(g))
+                    .put("in", "query")
+                    .put("description", "Shared parameter " + g)
+                    .put("type", "integer")
+                    .put("minimum", 0);
+            }
+        }
+        return root;
+    }
+
+    public String swagger2Yaml() {
+        try {
+            return YAML_MAPPER.writeValueAsString(swagger2());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String swagger2Json() {
+        try {
+            return JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(swagger2());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectNode swagger2Schema(int index, SchemaPlan plan) {
+        ObjectNode own = JSON_MAPPER.createObjectNode();
+        own.put("type", "object");
+        own.putArray("required").add("id");
+        ObjectNode properties = own.putObject("properties");
+        properties.putObject("id").put("type", "integer").put("format", "int64");
+        for (PropertyPlan property : plan.properties()) {
+            properties.set(property.name(), swagger2Property(property));
+        }
+        if (recursive) {
+            ObjectNode children = properties.putObject("children");
+            children.put("type", "array");
+            children.putObject("items").put("$ref", definitionRef(index));
+        }
+
+        ObjectNode parent = properties;
+        for (int level = 0; level < depth; level++) {
+            ObjectNode nested = parent.putObject("nested");
+            nested.put("type", "object");
+            ObjectNode nestedProperties = nested.putObject("properties");
+            nestedProperties.putObject("level").put("type", "integer").put("description", "Level " + level);
+            nestedProperties.putObject("label").put("type", "string");
+            parent = nestedProperties;
+        }
+
+        if (plan.parent() < 0) {
+            return own;
+        }
+        ObjectNode composed = JSON_MAPPER.createObjectNode();
+        ArrayNode allOf = composed.putArray("allOf");
+        allOf.addObject().put("$ref", definitionRef(plan.parent()));
+        allOf.add(own);
+        return composed;
+    }
+
+    private ObjectNode swagger2Property(PropertyPlan property) {
+        ObjectNode node = JSON_MAPPER.createObjectNode();
+        switch (property.type()) {
+            case "integer" -> node.put("type", "integer").put("format", "int32").put("maximum", 1000);
+            case "number" -> node.put("type", "number").put("format", "double");
+            case "boolean" -> node.put("type", "boolean");
+            case "enum" -> {
+                node.put("type", "string");
+                ArrayNode values = node.putArray("enum");
+                for (int v = 0; v < enumValues; v++) {
+                    values.add("VALUE_" + v);
+                }
+            }
+            case "ref" -> node.put("$ref", definitionRef(property.target()));
+            case "refArray" -> {
+                node.put("type", "array");
+                node.putObject("items").put("$ref", definitionRef(property.target()));
+            }
+            default -> node.put("type", "string").put("maxLength", 64).put("description", "Text " + property.name());
+        }
+        return node;
+    }
+
+    private ObjectNode swagger2PathItem(int index, PathPlan plan) {
+        ObjectNode pathItem = JSON_MAPPER.createObjectNode();
+        String model = definitionRef(plan.model());
+
+        for (OperationPlan operationPlan : plan.operations()) {
+            ObjectNode operation = pathItem.putObject(operationPlan.method());
+            operation.put("operationId", operationPlan.method() + "Resource" + index);
+
+            ArrayNode parameters = operation.putArray("parameters");
+            parameters.addObject()
+                .put("name", "id")
+                .put("in", "path")
+                .put("required", true)
+                .put("type", "integer")
+                .put("format", "int64");
+            for (int g : operationPlan.globalParameters()) {
+                parameters.addObject().put("$ref", "#/parameters/" + parameterName(g));
+            }
+
+            ObjectNode responses = JSON_MAPPER.createObjectNode();
+            switch (operationPlan.method()) {
+                case "put", "post" -> {
+                    ObjectNode body = parameters.addObject()
+                        .put("name", "body")
+                        .put("in", "body")
+                        .put("required", true);
+                    body.putObject("schema").put("$ref", model);
+                    ObjectNode saved = responses.putObject("200").put("description", "Saved");
+                    saved.putObject("schema").put("$ref", model);
+                }
+                case "delete" -> responses.putObject("204").put("description", "Deleted");
+                default -> {
+                    ObjectNode ok = responses.putObject("200").put("description", "OK");
+                    ok.putObject("schema").put("$ref", model);
+                }
+            }
+            responses.putObject("404").put("description", "Not found");
+            operation.set("responses", responses);
+        }
+        return pathItem;
+    }
+
+    // Names
+
+    private String description() {
+        return paths + " paths, " + operationCount() + " operations, " + schemas + " schemas, seed " + seed;
+    }
+
+    private static String pathName(int index) {
+        return "/resources" + index + "/{id}";
+    }
+
+    private static String schemaName(int index) {
+        return "Model" + index;
+    }
+
+    private static String schemaRef(int index) {
+        return "#/components/schemas/" + schemaName(index);
+    }
+
+    private static String definitionRef(int index) {
+        return "#/definitions/" + schemaName(index);
+    }
+
+    private static String parameterName(int index) {
+        return "Shared" + index;
+    }
+}
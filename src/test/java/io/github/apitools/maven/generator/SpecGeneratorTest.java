@@ -0,0 +1,90 @@
+package io.github.apitools.maven.generator;
+
+import io.github.apitools.maven.ParsedSpec;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.parsers.SwaggerParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SpecGeneratorTest {
+
+    private final SwaggerParser parser = new SwaggerParser(mock(Log.class));
+
+    private SpecGenerator.Builder fullFeatured() {
+        return SpecGenerator.builder()
+            .paths(25)
+            .operationsPerPath(3)
+            .globalParameters(4)
+            .schemas(12)
+            .depth(2)
+            .allOfChain(3)
+            .enumValues(4)
+            .recursive(true);
+    }
+
+    @Test
+    void testGeneratedOpenApiHasRequestedSize() throws Exception {
+        SpecGenerator generator = fullFeatured().build();
+
+        OpenAPI openAPI = parse(generator.openApiYaml(), SpecFormat.OPENAPI_3);
+
+        assertEquals(25, openAPI.getPaths().size());
+        assertEquals(75, generator.operationCount());
+        assertEquals(75, openAPI.getPaths().values().stream().mapToInt(p -> p.readOperations().size()).sum());
+        assertEquals(4, openAPI.getComponents().getParameters().size());
+        assertTrue(openAPI.getComponents().getSchemas().keySet().containsAll(
+            generator.openApi().getComponents().getSchemas().keySet()));
+    }
+
+    @Test
+    void testGeneratedSwagger2DescribesSameApi() throws Exception {
+        SpecGenerator generator = fullFeatured().build();
+
+        OpenAPI fromSwagger2 = parse(generator.swagger2Json(), SpecFormat.SWAGGER_2);
+        OpenAPI fromOpenApi = parse(generator.openApiJson(), SpecFormat.OPENAPI_3);
+
+        assertEquals(fromOpenApi.getPaths().keySet(), fromSwagger2.getPaths().keySet());
+        assertEquals(fromOpenApi.getComponents().getParameters().keySet(),
+            fromSwagger2.getComponents().getParameters().keySet());
+        for (String model : generator.openApi().getComponents().getSchemas().keySet()) {
+            assertNotNull(fromSwagger2.getComponents().getSchemas().get(model), model);
+        }
+    }
+
+    @Test
+    void testGeneratesAllOfChainsEnumsAndRecursiveModels() {
+        OpenAPI openAPI = fullFeatured().build().openApi();
+
+        Schema<?> extended = openAPI.getComponents().getSchemas().get("Model1");
+        assertEquals("#/components/schemas/Model0", extended.getAllOf().get(0).get$ref());
+        Schema<?> root = openAPI.getComponents().getSchemas().get("Model0");
+        assertEquals("#/components/schemas/Model0",
+            ((Schema<?>) root.getProperties().get("children")).getItems().get$ref());
+
+        boolean hasEnum = false;
+        for (Schema<?> schema : openAPI.getComponents().getSchemas().values()) {
+            Schema<?> own = schema.getAllOf() != null ? schema.getAllOf().get(1) : schema;
+            for (Schema<?> property : own.getProperties().values()) {
+                hasEnum |= property.getEnum() != null && property.getEnum().size() == 4;
+            }
+        }
+        assertTrue(hasEnum);
+    }
+
+    @Test
+    void testSameSeedProducesSameDocument() {
+        assertEquals(fullFeatured().seed(7).build().openApiYaml(), fullFeatured().seed(7).build().openApiYaml());
+        assertEquals(fullFeatured().seed(7).build().swagger2Yaml(), fullFeatured().seed(7).build().swagger2Yaml());
+        assertNotEquals(fullFeatured().seed(7).build().openApiYaml(), fullFeatured().seed(8).build().openApiYaml());
+    }
+
+    private OpenAPI parse(String content, SpecFormat format) throws Exception {
+        ParsedSpec parsed = parser.parse(content, format);
+        return (OpenAPI) parsed.getData();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.apitools.maven.parsers;
+
+import io.github.apitools.maven.SpecFormat;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelCacheTest {
+
+    private static ModelCache.Key key(String hash) {
+        return ModelCache.Key.of(hash, SpecFormat.OPENAPI_3, ParserHolder.conversionOptions());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        ModelCache cache = new ModelCache(2);
+        OpenAPI a = new OpenAPI();
+        OpenAPI b = new OpenAPI();
+        cache.put(key("a"), a);
+        cache.put(key("b"), b);
+
+        // Touch "a" so that "b" becomes the eldest entry
+        assertSame(a, cache.get(key("a")));
+        cache.put(key("c"), new OpenAPI());
+
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testKeyIncludesFormatAndParseOptions() {
+        ModelCache cache = new ModelCache(4);
+        cache.put(key("a"), new OpenAPI());
+
+        ParseOptions unresolved = new ParseOptions();
+        assertNull(cache.get(ModelCache.Key.of("a", SpecFormat.SWAGGER_2, ParserHolder.conversionOptions())));
+        assertNull(cache.get(ModelCache.Key.of("a", SpecFormat.OPENAPI_3, unresolved)));
+        assertNotNull(cache.get(key("a")));
+    }
+
+    @Test
+    void testShrinkingAndDisabling() {
+        ModelCache cache = new ModelCache(3);
+        cache.put(key("a"), new OpenAPI());
+        cache.put(key("b"), new OpenAPI());
+        cache.put(key("c"), new OpenAPI());
+
+        cache.setMaxEntries(1);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(key("c")));
+
+        cache.setMaxEntries(0);
+        cache.put(key("d"), new OpenAPI());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.apitools.maven.parsers;
+
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserHolderTest {
+
+    private static final String SWAGGER_2 = """
+        swagger: '2.0'
+        info:
+          title: Swagger API %d
+          version: 1.0.0
+        basePath: /v%d
+        paths:
+          /test:
+            get:
+              responses:
+                '200':
+                  description: Success
+        """;
+
+    @Test
+    void testReadContentsFallsBackToSwagger2Converter() {
+        SwaggerParseResult result = ParserHolder.readContents(SWAGGER_2.formatted(1, 1), ParserHolder.conversionOptions());
+
+        assertNotNull(result.getOpenAPI());
+        assertEquals("Swagger API 1", result.getOpenAPI().getInfo().getTitle());
+        assertEquals("/v1", result.getOpenAPI().getServers().get(0).getUrl());
+    }
+
+    @Test
+    void testReadContentsFromSeveralThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SwaggerParseResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String content = SWAGGER_2.formatted(i, i);
+                futures.add(pool.submit(() -> ParserHolder.readContents(content, ParserHolder.conversionOptions())));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                SwaggerParseResult result = futures.get(i).get();
+                assertEquals("Swagger API " + i, result.getOpenAPI().getInfo().getTitle());
+                assertEquals("/v" + i, result.getOpenAPI().getServers().get(0).getUrl());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
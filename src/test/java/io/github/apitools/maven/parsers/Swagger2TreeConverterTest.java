@@ -0,0 +1,264 @@
+package io.github.apitools.maven.parsers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.apitools.maven.SpecFormat;
+import io.github.apitools.maven.generator.SpecGenerator;
+import io.swagger.v3.core.util.Json;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conformance of {@link Swagger2TreeConverter} with swagger-parser's v2 pipeline: every
+ * document must parse to the same OpenAPI model through both.
+ */
+class Swagger2TreeConverterTest {
+
+    private static final String PETSTORE = """
+        swagger: '2.0'
+        info:
+          title: Petstore
+          version: 1.0.5
+          description: Sample server
+          termsOfService: http://swagger.io/terms/
+          contact: {email: apiteam@swagger.io, x-team: pets}
+          license: {name: Apache 2.0, url: http://www.apache.org/licenses/LICENSE-2.0.html}
+          x-audience: public
+        host: petstore.swagger.io
+        basePath: /v2
+        schemes: [https, http]
+        tags:
+          - {name: pet, description: Pets, externalDocs: {description: More, url: http://swagger.io}}
+          - name: store
+        paths:
+          /pet:
+            post:
+              tags: [pet]
+              operationId: addPet
+              consumes: [application/json, application/xml]
+              parameters:
+                - {in: body, name: body, description: Pet to add, required: true, schema: {$ref: '#/definitions/Pet'}}
+              responses:
+                '405': {description: Invalid input}
+              security:
+                - petstore_auth: ['write:pets', 'read:pets']
+          /pet/findByStatus:
+            get:
+              operationId: findPetsByStatus
+              produces: [application/json, application/xml]
+              parameters:
+                - name: status
+                  in: query
+                  required: true
+                  type: array
+                  items: {type: string, enum: [available, pending, sold], default: available}
+                  collectionFormat: multi
+              responses:
+                '200':
+                  description: successful operation
+                  schema: {type: array, items: {$ref: '#/definitions/Pet'}}
+          /pet/{petId}:
+            parameters:
+              - {name: petId, in: path, required: true, type: integer, format: int64}
+            get:
+              operationId: getPetById
+              deprecated: true
+              responses:
+                '200': {description: successful operation, schema: {$ref: '#/definitions/Pet'}}
+                default: {$ref: '#/responses/Error'}
+              security:
+                - api_key: []
+            delete:
+              parameters:
+                - {name: api_key, in: header, type: string}
+              responses:
+                '404': {description: Pet not found}
+              x-internal: true
+          /user/login:
+            get:
+              parameters:
+                - {name: username, in: query, required: true, type: string, minLength: 3, x-kind: login}
+              responses:
+                '200':
+                  description: ok
+                  schema: {type: string}
+                  examples: {application/json: token}
+                  headers:
+                    X-Rate-Limit: {type: integer, format: int32, description: calls per hour}
+                    X-Expires-After: {type: string, format: date-time}
+                    ETag: {type: string}
+        produces: [application/json]
+        responses:
+          Error: {description: error, schema: {$ref: '#/definitions/Error'}}
+        securityDefinitions:
+          api_key: {type: apiKey, name: api_key, in: header}
+          basic: {type: basic, description: Basic}
+          petstore_auth:
+            type: oauth2
+            flow: implicit
+            authorizationUrl: https://petstore.swagger.io/oauth/authorize
+            scopes: {'read:pets': read your pets, 'write:pets': modify pets}
+        definitions:
+          Category:
+            type: object
+            properties:
+              id: {type: integer, format: int64}
+              name: {type: string}
+            xml: {name: Category}
+          Pet:
+            type: object
+            required: [name, photoUrls]
+            properties:
+              id: {type: integer, format: int64, readOnly: true}
+              category: {$ref: '#/definitions/Category', description: ignored}
+              name: {type: string, example: doggie}
+              photoUrls:
+                type: array
+                xml: {wrapped: true}
+                items: {type: string, xml: {name: photoUrl}}
+              status: {type: string, description: pet status, enum: [available, pending, sold]}
+              attributes: {type: object, additionalProperties: {type: string}}
+              extra: {type: object}
+              nickname: {type: string, x-nullable: true}
+              avatar: {type: string, format: byte}
+            xml: {name: Pet}
+          Error:
+            type: object
+            discriminator: kind
+            required: [kind]
+            properties:
+              kind: {type: string}
+              code: {type: integer, format: int32, minimum: 100.0, maximum: 599}
+            additionalProperties: true
+          NotFound:
+            description: Missing resource
+            discriminator: kind
+            allOf:
+              - $ref: '#/definitions/Error'
+              - properties: {path: {type: string}}
+          Any: {}
+          Alias: {$ref: '#/definitions/Pet'}
+        externalDocs: {url: http://swagger.io}
+        x-generated: true
+        """;
+
+    private static final String PARAMETERS = """
+        swagger: '2.0'
+        info: {title: Parameters, version: '1'}
+        host: api.example.com
+        consumes: [application/json]
+        parameters:
+          limit: {name: limit, in: query, type: integer, format: int32, default: 10, minimum: 1, maximum: 100}
+          trace: {name: X-Trace, in: header, type: string, required: true, enum: [enabled, disabled]}
+        paths:
+          /items:
+            parameters:
+              - $ref: '#/parameters/limit'
+              - {name: X-Trace, in: header, type: string}
+            get:
+              parameters:
+                - $ref: '#/parameters/trace'
+                - {name: csv, in: query, type: array, items: {type: string}}
+                - {name: pipes, in: query, type: array, items: {type: integer, format: int64}, collectionFormat: pipes}
+                - {name: ssv, in: query, type: array, items: {type: string}, collectionFormat: ssv}
+                - {name: tsv, in: query, type: array, items: {type: string}, collectionFormat: tsv}
+                - {name: ratio, in: query, type: number, format: float, default: 1.5, exclusiveMaximum: true, maximum: 2}
+                - {name: empty, in: query, type: boolean, allowEmptyValue: false, default: true}
+              responses:
+                '204': {description: none}
+            put:
+              consumes: [text/plain]
+              parameters:
+                - {name: payload, in: body, description: raw, schema: {type: object, properties: {a: {type: string}}}, x-body: 1}
+              responses:
+                default: {description: done}
+        """;
+
+    @Mock
+    private Log log;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testMatchesLegacyConversion() throws Exception {
+        assertConforms(PETSTORE);
+        assertConforms(PARAMETERS);
+    }
+
+    @Test
+    void testMatchesLegacyConversionOfGeneratedSpecs() throws Exception {
+        SpecGenerator generator = SpecGenerator.builder()
+            .seed(42)
+            .paths(40)
+            .operationsPerPath(3)
+            .globalParameters(6)
+            .schemas(30)
+            .depth(2)
+            .allOfChain(3)
+            .enumValues(4)
+            .recursive(true)
+            .build();
+
+        assertConforms(generator.swagger2Yaml());
+        assertConforms(generator.swagger2Json());
+    }
+
+    @Test
+    void testConvertsServersAndRequestBody() throws Exception {
+        ObjectNode converted = Swagger2TreeConverter.convert(ParserHolder.yamlMapper().readTree(PARAMETERS));
+
+        assertEquals("//api.example.com/", converted.at("/servers/0/url").asText());
+        JsonNode put = converted.at("/paths/~1items/put");
+        assertEquals("payload", put.get("x-codegen-request-body-name").asText());
+        assertTrue(put.at("/requestBody/content").has("text/plain"));
+        // Path item parameters come first, except the one the operation overrides
+        assertEquals("limit", converted.at("/paths/~1items/get/parameters/0/name").asText());
+        assertTrue(converted.at("/paths/~1items/get/parameters/1/required").asBoolean());
+    }
+
+    @Test
+    void testUnsupportedConstructFallsBack() throws Exception {
+        String formData = """
+            swagger: '2.0'
+            info: {title: Upload, version: '1'}
+            paths:
+              /upload:
+                post:
+                  consumes: [multipart/form-data]
+                  parameters:
+                    - {name: file, in: formData, type: file}
+                  responses:
+                    '200': {description: ok}
+            """;
+
+        JsonNode tree = ParserHolder.yamlMapper().readTree(formData);
+        assertThrows(Swagger2TreeConverter.UnsupportedException.class, () -> Swagger2TreeConverter.convert(tree));
+        assertEquals(legacy(formData), Json.pretty(new SwaggerParser(log).parse(formData, SpecFormat.SWAGGER_2).getData()));
+    }
+
+    private void assertConforms(String source) throws Exception {
+        // The document must take the native path, not the fallback
+        assertDoesNotThrow(() -> Swagger2TreeConverter.convert(treeOf(source)));
+
+        String converted = Json.pretty(new SwaggerParser(log, true).parse(source, SpecFormat.SWAGGER_2).getData());
+        assertEquals(legacy(source), converted);
+    }
+
+    private String legacy(String source) throws Exception {
+        return Json.pretty(new SwaggerParser(log, false).parse(source, SpecFormat.SWAGGER_2).getData());
+    }
+
+    private static JsonNode treeOf(String source) throws Exception {
+        return source.stripLeading().startsWith("{")
+            ? ParserHolder.jsonMapper().readTree(source)
+            : ParserHolder.yamlMapper().readTree(source);
+    }
+}
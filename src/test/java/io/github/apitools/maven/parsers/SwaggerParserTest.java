@@ -2,6 +2,7 @@ package io.github.apitools.maven.parsers;
 
 import io.github.apitools.maven.ParsedSpec;
 import io.github.apitools.maven.SpecFormat;
+import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.apache.maven.plugin.logging.Log;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SwaggerParserTest {
@@ -119,6 +123,48 @@ class SwaggerParserTest {
                    exception instanceof com.fasterxml.jackson.core.JsonParseException);
     }
 
+    @Test
+    void testParseJsonFromInputStream() throws Exception {
+        String jsonContent = "\n\t  {\"swagger\": \"2.0\", \"info\": {\"title\": \"Stream API\", \"version\": \"1.0.0\"}, "
+            + "\"paths\": {\"/test\": {\"get\": {\"responses\": {\"200\": {\"description\": \"Success\"}}}}}}";
+
+        ParsedSpec result = parser.parseStream(
+            new ByteArrayInputStream(jsonContent.getBytes(StandardCharsets.UTF_8)), SpecFormat.SWAGGER_2);
+
+        OpenAPI openAPI = (OpenAPI) result.getData();
+        assertEquals("Stream API", openAPI.getInfo().getTitle());
+        assertNotNull(openAPI.getPaths().get("/test"));
+    }
+
+    @Test
+    void testParseFromInputStreamMatchesStringParse() throws Exception {
+        String content = """
+            openapi: 3.0.1
+            info:
+              title: Inline API
+              version: 1.0.0
+            paths:
+              /items:
+                get:
+                  responses:
+                    '200':
+                      description: Success
+                      content:
+                        application/json:
+                          schema:
+                            type: object
+                            properties:
+                              name:
+                                type: string
+            """;
+
+        Object fromString = parser.parse(content, SpecFormat.OPENAPI_3).getData();
+        Object fromStream = parser.parseStream(
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), SpecFormat.OPENAPI_3).getData();
+
+        assertEquals(Yaml.pretty(fromString), Yaml.pretty(fromStream));
+    }
+
     @Test
     void testParseEmptyContent() {
         Exception exception = assertThrows(Exception.class, () -> {
@@ -0,0 +1,91 @@
+package io.github.apitools.maven.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalRefsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReferences() throws IOException {
+        String content = """
+            a: {$ref: '#/components/schemas/A'}
+            b: {$ref: 'common.yaml#/components/schemas/B'}
+            c:
+              $ref: schemas/c.yaml
+            d: {"$ref" : "d.json#/D", "type": "object"}
+            """;
+
+        assertEquals(List.of("common.yaml", "schemas/c.yaml", "d.json"),
+            ExternalRefs.references(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testReferencesSplitAcrossReads() throws IOException {
+        byte[] content = "{\"$re\": 1, \"$ref\" : \"common.json#/A\"}".getBytes(StandardCharsets.UTF_8);
+        InputStream oneByteAtATime = new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        assertEquals(List.of("common.json"), ExternalRefs.references(oneByteAtATime));
+    }
+
+    @Test
+    void testHashWithoutReferencesIsContentHash() throws IOException {
+        Path spec = Files.writeString(tempDir.resolve("api.yaml"), """
+            openapi: 3.0.1
+            components:
+              schemas:
+                A: {type: string}
+                B: {$ref: '#/components/schemas/A'}
+            """);
+
+        assertEquals(FingerprintStore.sha256(spec), ExternalRefs.hash(spec));
+    }
+
+    @Test
+    void testReferencedFilesChangeHash() throws IOException {
+        Path common = tempDir.resolve("common");
+        Files.createDirectories(common);
+        Path schemas = Files.writeString(common.resolve("schemas.yaml"), "B: {$ref: 'types.yaml#/T'}\n");
+        Path types = Files.writeString(common.resolve("types.yaml"), "T: {type: string}\n");
+        Path spec = Files.writeString(tempDir.resolve("api.yaml"),
+            "schema: {$ref: '" + schemas.toAbsolutePath() + "#/B'}\n");
+
+        String original = ExternalRefs.hash(spec);
+        assertNotEquals(FingerprintStore.sha256(spec), original);
+        assertEquals(original, ExternalRefs.hash(spec));
+
+        // A file referenced from a referenced file resolves against that file's directory
+        Files.writeString(types, "T: {type: string, maxLength: 8}\n");
+        String changed = ExternalRefs.hash(spec);
+        assertNotEquals(original, changed);
+
+        Files.delete(types);
+        assertNotEquals(changed, ExternalRefs.hash(spec));
+    }
+
+    @Test
+    void testRemoteReferencesAreNotHashed() throws IOException {
+        Path spec = Files.writeString(tempDir.resolve("api.yaml"),
+            "schema: {$ref: 'https://example.com/schemas.yaml#/B'}\n");
+
+        assertNull(ExternalRefs.hash(spec));
+    }
+}
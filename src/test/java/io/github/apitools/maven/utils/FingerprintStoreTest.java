@@ -0,0 +1,63 @@
+package io.github.apitools.maven.utils;
+
+import io.github.apitools.maven.utils.FingerprintStore.Fingerprint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUpToDateAfterRecordAndReload() throws IOException {
+        Path storeFile = tempDir.resolve("state/fingerprints.properties");
+        Path output = Files.writeString(tempDir.resolve("out.json"), "{}");
+        Fingerprint fingerprint = new Fingerprint("source", "options", "1.0.0");
+
+        FingerprintStore store = FingerprintStore.load(storeFile);
+        assertFalse(store.isUpToDate(output, fingerprint));
+
+        store.record(output, fingerprint);
+        store.save();
+
+        FingerprintStore reloaded = FingerprintStore.load(storeFile);
+        assertTrue(reloaded.isUpToDate(output, fingerprint));
+    }
+
+    @Test
+    void testChangedFingerprintIsNotUpToDate() throws IOException {
+        Path output = Files.writeString(tempDir.resolve("out.json"), "{}");
+        FingerprintStore store = FingerprintStore.load(tempDir.resolve("fingerprints.properties"));
+        store.record(output, new Fingerprint("source", "options", "1.0.0"));
+
+        assertFalse(store.isUpToDate(output, new Fingerprint("changed", "options", "1.0.0")));
+        assertFalse(store.isUpToDate(output, new Fingerprint("source", "changed", "1.0.0")));
+        assertFalse(store.isUpToDate(output, new Fingerprint("source", "options", "1.0.1")));
+    }
+
+    @Test
+    void testMissingOutputIsNotUpToDate() throws IOException {
+        Path output = tempDir.resolve("deleted.json");
+        Fingerprint fingerprint = new Fingerprint("source", "options", "1.0.0");
+        FingerprintStore store = FingerprintStore.load(tempDir.resolve("fingerprints.properties"));
+        store.record(output, fingerprint);
+
+        assertFalse(store.isUpToDate(output, fingerprint));
+    }
+
+    @Test
+    void testSha256() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("spec.yaml"), "openapi: 3.0.1");
+
+        assertEquals(FingerprintStore.sha256("openapi: 3.0.1"), FingerprintStore.sha256(file));
+        assertNotEquals(FingerprintStore.sha256("openapi: 3.0.2"), FingerprintStore.sha256(file));
+        assertEquals(64, FingerprintStore.sha256("").length());
+    }
+}
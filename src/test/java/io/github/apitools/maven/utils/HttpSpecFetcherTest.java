@@ -0,0 +1,183 @@
+package io.github.apitools.maven.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpSpecFetcherTest {
+
+    private static final String SPEC = "openapi: 3.0.1\ninfo:\n  title: Remote API\n  version: 1.0.0\npaths: {}\n";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2026 07:28:00 GMT";
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final List<String> conditions = new ArrayList<>();
+    private volatile String encoding = "identity";
+    private volatile boolean validators = true;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/spec.yaml", this::serveSpec);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void serveSpec(HttpExchange exchange) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        synchronized (conditions) {
+            conditions.add(ifNoneMatch + "|" + ifModifiedSince);
+        }
+
+        if (validators && (ETAG.equals(ifNoneMatch) || LAST_MODIFIED.equals(ifModifiedSince))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] body = encode(SPEC.getBytes(StandardCharsets.UTF_8));
+        if (validators) {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+        }
+        if (!"identity".equals(encoding)) {
+            exchange.getResponseHeaders().add("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private byte[] encode(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        OutputStream out = switch (encoding) {
+            case "gzip" -> new GZIPOutputStream(buffer);
+            case "deflate" -> new DeflaterOutputStream(buffer);
+            default -> buffer;
+        };
+        out.write(content);
+        out.close();
+        return buffer.toByteArray();
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/spec.yaml";
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testRevalidatesCachedCopy() throws Exception {
+        HttpSpecFetcher fetcher = new HttpSpecFetcher(log, tempDir.resolve("cache"), false);
+
+        assertEquals(SPEC, read(fetcher.open(url())));
+        assertEquals(SPEC, read(fetcher.open(url())));
+
+        assertEquals(List.of("null|null", ETAG + "|" + LAST_MODIFIED), conditions);
+    }
+
+    @Test
+    void testFetchReturnsCachedCopy() throws Exception {
+        HttpSpecFetcher fetcher = new HttpSpecFetcher(log, tempDir.resolve("cache"), false);
+
+        Path body = fetcher.fetch(url());
+        assertEquals(SPEC, Files.readString(body));
+        assertEquals(body, fetcher.fetch(url()));
+        assertEquals(List.of("null|null", ETAG + "|" + LAST_MODIFIED), conditions);
+
+        assertNull(new HttpSpecFetcher(log, null, false).fetch(url()));
+    }
+
+    @Test
+    void testCacheSurvivesNewFetcher() throws Exception {
+        read(new HttpSpecFetcher(log, tempDir.resolve("cache"), false).open(url()));
+
+        assertEquals(SPEC, read(new HttpSpecFetcher(log, tempDir.resolve("cache"), false).open(url())));
+        assertEquals(ETAG + "|" + LAST_MODIFIED, conditions.get(1));
+    }
+
+    @Test
+    void testWithoutValidatorsDownloadsAgain() throws Exception {
+        validators = false;
+        HttpSpecFetcher fetcher = new HttpSpecFetcher(log, tempDir.resolve("cache"), false);
+
+        assertEquals(SPEC, read(fetcher.open(url())));
+        assertEquals(SPEC, read(fetcher.open(url())));
+
+        assertEquals(List.of("null|null", "null|null"), conditions);
+    }
+
+    @Test
+    void testDecodesGzipAndDeflate() throws Exception {
+        for (String contentEncoding : new String[] {"gzip", "deflate"}) {
+            encoding = contentEncoding;
+            assertEquals(SPEC, read(new HttpSpecFetcher(log, null, false).open(url())), contentEncoding);
+            assertEquals(SPEC, read(new HttpSpecFetcher(log, tempDir.resolve(contentEncoding), false).open(url())),
+                contentEncoding);
+        }
+    }
+
+    @Test
+    void testOfflineReadsCachedCopyOnly() throws Exception {
+        Path cache = tempDir.resolve("cache");
+        HttpSpecFetcher offline = new HttpSpecFetcher(log, cache, true);
+
+        IOException missing = assertThrows(IOException.class, () -> offline.open(url()));
+        assertTrue(missing.getMessage().contains("offline"));
+        assertTrue(conditions.isEmpty());
+
+        read(new HttpSpecFetcher(log, cache, false).open(url()));
+        server.stop(0);
+
+        assertEquals(SPEC, read(offline.open(url())));
+        assertThrows(IOException.class, () -> new HttpSpecFetcher(log, null, true).open(url()));
+    }
+
+    @Test
+    void testHttpErrorIsReported() {
+        HttpSpecFetcher fetcher = new HttpSpecFetcher(log, tempDir.resolve("cache"), false);
+        String missing = "http://localhost:" + server.getAddress().getPort() + "/missing.yaml";
+
+        IOException error = assertThrows(IOException.class, () -> fetcher.open(missing));
+        assertTrue(error.getMessage().contains("HTTP error 404"));
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.apitools.maven.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class IfChangedOutputStreamTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUnchangedContentKeepsFile() throws IOException {
+        Path target = Files.writeString(tempDir.resolve("out.json"), "{\"a\": 1}");
+        FileTime written = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(target, written);
+
+        assertFalse(write(target, "{\"a\": 1}"));
+        assertEquals(written, Files.getLastModifiedTime(target));
+        assertOnlyTarget();
+    }
+
+    @Test
+    void testChangedContentReplacesFile() throws IOException {
+        Path target = Files.writeString(tempDir.resolve("out.json"), "{\"a\": 1, \"b\": 2}");
+
+        // Same prefix, different tail; longer; shorter
+        assertTrue(write(target, "{\"a\": 1, \"b\": 3}"));
+        assertEquals("{\"a\": 1, \"b\": 3}", Files.readString(target));
+        assertTrue(write(target, "{\"a\": 1, \"b\": 3, \"c\": 4}"));
+        assertEquals("{\"a\": 1, \"b\": 3, \"c\": 4}", Files.readString(target));
+        assertTrue(write(target, "{\"a\": 1"));
+        assertEquals("{\"a\": 1", Files.readString(target));
+        assertOnlyTarget();
+    }
+
+    @Test
+    void testNewFileIsWritten() throws IOException {
+        Path target = tempDir.resolve("new.json");
+
+        assertTrue(write(target, "{}"));
+        assertEquals("{}", Files.readString(target));
+    }
+
+    @Test
+    void testLargeContentComparedAcrossBuffers() throws IOException {
+        String content = "x".repeat(200_000);
+        Path target = Files.writeString(tempDir.resolve("large.json"), content);
+
+        assertFalse(write(target, content));
+        String changed = content.substring(0, 150_000) + "y" + content.substring(150_001);
+        assertTrue(write(target, changed));
+        assertEquals(changed, Files.readString(target));
+    }
+
+    @Test
+    void testDiscardLeavesTargetUntouched() throws IOException {
+        Path target = Files.writeString(tempDir.resolve("out.json"), "old");
+
+        try (IfChangedOutputStream out = new IfChangedOutputStream(target)) {
+            out.write("new content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("old", Files.readString(target));
+        assertOnlyTarget();
+    }
+
+    @Test
+    void testReplacedFileKeepsPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        Path target = Files.writeString(tempDir.resolve("out.json"), "old");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(target, permissions);
+        assertTrue(write(target, "new"));
+        assertEquals(permissions, Files.getPosixFilePermissions(target));
+
+        // A new file gets the default permissions, not the owner-only ones of a temp file
+        Path created = tempDir.resolve("created.json");
+        Path reference = Files.createFile(tempDir.resolve("reference.json"));
+        assertTrue(write(created, "new"));
+        assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(created));
+    }
+
+    private static boolean write(Path target, String content) throws IOException {
+        try (IfChangedOutputStream out = new IfChangedOutputStream(target)) {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes[0]);
+            out.write(bytes, 1, bytes.length - 1);
+            return out.commit();
+        }
+    }
+
+    private void assertOnlyTarget() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "Temporary files must not be left behind");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.apitools.maven.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.apitools.maven.ConversionMetrics;
+import io.github.apitools.maven.ConversionMetrics.Stage;
+import io.github.apitools.maven.ConversionOptions;
+import io.github.apitools.maven.ConversionResult;
+import io.github.apitools.maven.OutputSyntax;
+import io.github.apitools.maven.SpecFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsReportTest {
+
+    private static final Instant BUILD_STARTED = Instant.parse("2026-01-01T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private static ConversionOptions options(String source) {
+        return ConversionOptions.builder()
+            .source(source)
+            .from(SpecFormat.OPENAPI_3)
+            .to(SpecFormat.SWAGGER_2)
+            .syntax(OutputSyntax.JSON)
+            .build();
+    }
+
+    @Test
+    void testWritesOneEntryPerSpecSortedBySource() throws IOException {
+        Path reportFile = tempDir.resolve("reports/metrics.json");
+        MetricsReport report = new MetricsReport(reportFile, BUILD_STARTED);
+
+        ConversionMetrics metrics = ConversionMetrics.builder()
+            .stage(Stage.PARSE, 2_000_000, 1024)
+            .inputBytes(100)
+            .outputBytes(200)
+            .build();
+        report.recordConversion(options("b.yaml"), tempDir.resolve("b.json"),
+            new ConversionResult(null, List.of("a warning"), metrics));
+        report.recordUpToDate(options("a.yaml"), tempDir.resolve("a.json"));
+        report.recordFailure(options("c.yaml"), tempDir.resolve("c.json"), "broken");
+        report.write(Map.of("goal", "convert-all"));
+
+        JsonNode json = new ObjectMapper().readTree(reportFile.toFile()).path("executions").get(0);
+        assertEquals("convert-all", json.path("goal").asText());
+        assertEquals(3, json.path("specs").size());
+
+        JsonNode upToDate = json.path("specs").get(0);
+        assertEquals("a.yaml", upToDate.path("source").asText());
+        assertEquals(MetricsReport.STATUS_UP_TO_DATE, upToDate.path("status").asText());
+        assertTrue(upToDate.path("cacheHit").asBoolean());
+
+        JsonNode converted = json.path("specs").get(1);
+        assertEquals(MetricsReport.STATUS_CONVERTED, converted.path("status").asText());
+        assertFalse(converted.path("cacheHit").asBoolean());
+        assertEquals("openapi_3", converted.path("from").asText());
+        assertEquals(2_000_000, converted.path("stages").path("parse").path("wallNanos").asLong());
+        assertEquals(1024, converted.path("stages").path("parse").path("allocatedBytes").asLong());
+        assertEquals(100, converted.path("inputBytes").asLong());
+        assertEquals(200, converted.path("outputBytes").asLong());
+        assertEquals("a warning", converted.path("warnings").get(0).asText());
+
+        JsonNode failed = json.path("specs").get(2);
+        assertEquals(MetricsReport.STATUS_FAILED, failed.path("status").asText());
+        assertEquals("broken", failed.path("error").asText());
+    }
+
+    @Test
+    void testWriteReplacesPreviousReport() throws IOException {
+        Path reportFile = tempDir.resolve("metrics.json");
+        Files.writeString(reportFile, "stale");
+
+        new MetricsReport(reportFile, BUILD_STARTED).write(Map.of());
+
+        JsonNode json = new ObjectMapper().readTree(reportFile.toFile());
+        assertEquals(1, json.path("executions").size());
+        assertEquals(0, json.path("executions").get(0).path("specs").size());
+        assertFalse(Files.exists(tempDir.resolve("metrics.json.tmp")));
+    }
+
+    @Test
+    void testExecutionsOfTheSameBuildShareTheReport() throws IOException {
+        Path reportFile = tempDir.resolve("metrics.json");
+
+        MetricsReport first = new MetricsReport(reportFile, BUILD_STARTED);
+        first.recordUpToDate(options("a.yaml"), tempDir.resolve("a.json"));
+        first.write(Map.of("goal", "convert", "executionId", "public-api"));
+
+        MetricsReport second = new MetricsReport(reportFile, BUILD_STARTED);
+        second.recordUpToDate(options("b.yaml"), tempDir.resolve("b.json"));
+        second.write(Map.of("goal", "convert", "executionId", "internal-api"));
+
+        JsonNode executions = new ObjectMapper().readTree(reportFile.toFile()).path("executions");
+        assertEquals(2, executions.size());
+        assertEquals("public-api", executions.get(0).path("executionId").asText());
+        assertEquals("a.yaml", executions.get(0).path("specs").get(0).path("source").asText());
+        assertEquals("internal-api", executions.get(1).path("executionId").asText());
+        assertEquals("b.yaml", executions.get(1).path("specs").get(0).path("source").asText());
+
+        // Running an execution again replaces its own entry
+        new MetricsReport(reportFile, BUILD_STARTED).write(Map.of("goal", "convert", "executionId", "public-api"));
+        executions = new ObjectMapper().readTree(reportFile.toFile()).path("executions");
+        assertEquals(2, executions.size());
+        assertEquals("internal-api", executions.get(0).path("executionId").asText());
+
+        // A new build starts a new report
+        new MetricsReport(reportFile, BUILD_STARTED.plusSeconds(60)).write(Map.of("goal", "convert", "executionId", "public-api"));
+        assertEquals(1, new ObjectMapper().readTree(reportFile.toFile()).path("executions").size());
+    }
+}
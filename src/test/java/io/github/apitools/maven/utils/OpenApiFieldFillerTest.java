@@ -1,6 +1,8 @@
 package io.github.apitools.maven.utils;
 
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.info.Info;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,4 +72,30 @@ class OpenApiFieldFillerTest {
         assertEquals("1.0.0", openAPI.getInfo().getVersion());
         assertNotNull(openAPI.getPaths());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWithMissingFieldsLeavesOriginalUntouched() {
+        Components components = new Components();
+        OpenAPI openAPI = new OpenAPI().info(new Info().title("My API")).components(components);
+
+        OpenAPI filled = OpenApiFieldFiller.withMissingFields(openAPI);
+
+        assertNotSame(openAPI, filled);
+        assertEquals("My API", filled.getInfo().getTitle());
+        assertEquals("1.0.0", filled.getInfo().getVersion());
+        assertNotNull(filled.getPaths());
+        assertSame(components, filled.getComponents());
+
+        assertNull(openAPI.getInfo().getVersion());
+        assertNull(openAPI.getPaths());
+    }
+
+    @Test
+    void testWithMissingFieldsReturnsCompleteModel() {
+        OpenAPI openAPI = new OpenAPI()
+            .info(new Info().title("My API").version("2.0.0"))
+            .paths(new Paths());
+
+        assertSame(openAPI, OpenApiFieldFiller.withMissingFields(openAPI));
+    }
+}
@@ -1,6 +1,15 @@
 package io.github.apitools.maven.utils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.apitools.maven.SpecFormat;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.junit.jupiter.api.Test;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,4 +95,41 @@ class OpenApiValidatorTest {
         assertNotNull(warnings);
         assertFalse(warnings.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateModelMatchesSerializedValidation() {
+        OpenAPI openAPI = new OpenAPI()
+            .openapi("3.0.1")
+            .info(new Info().title("Test API"))
+            .paths(new Paths().addPathItem("/test", new PathItem().get(new Operation()
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse())))));
+
+        List<String> warnings = OpenApiValidator.validate(openAPI);
+
+        assertFalse(warnings.isEmpty());
+        assertEquals(OpenApiValidator.validate(Json.pretty(openAPI), SpecFormat.OPENAPI_3), warnings);
+    }
+
+    @Test
+    void testValidateSwagger2Tree() throws Exception {
+        String swagger = """
+            {
+              "swagger": "2.0",
+              "info": {"title": "Test API"},
+              "paths": {
+                "/items/{id}": {
+                  "get": {
+                    "parameters": [{"name": "id", "in": "path", "type": "integer"}],
+                    "responses": {"200": {"description": "Success"}}
+                  }
+                }
+              }
+            }
+            """;
+
+        List<String> warnings = OpenApiValidator.validateSwagger2(new ObjectMapper().readTree(swagger));
+
+        assertFalse(warnings.isEmpty());
+        assertEquals(OpenApiValidator.validate(swagger, SpecFormat.SWAGGER_2), warnings);
+    }
+}
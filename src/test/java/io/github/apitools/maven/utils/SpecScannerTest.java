@@ -0,0 +1,67 @@
+package io.github.apitools.maven.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testScanWithDefaultIncludes() throws IOException {
+        touch("root.yaml");
+        touch("nested/api.json");
+        touch("nested/deeper/api.yml");
+        touch("README.md");
+
+        List<Path> specs = new SpecScanner(null, null).scan(tempDir);
+
+        assertEquals(List.of(
+            Paths.get("nested/api.json"),
+            Paths.get("nested/deeper/api.yml"),
+            Paths.get("root.yaml")), specs);
+    }
+
+    @Test
+    void testScanWithIncludesAndExcludes() throws IOException {
+        touch("public/users.yaml");
+        touch("public/orders.yaml");
+        touch("internal/admin.yaml");
+
+        List<Path> specs = new SpecScanner(List.of("**/*.yaml"), List.of("internal/**", "**/orders.yaml"))
+            .scan(tempDir);
+
+        assertEquals(List.of(Paths.get("public/users.yaml")), specs);
+    }
+
+    @Test
+    void testScanMissingDirectory() {
+        SpecScanner scanner = new SpecScanner(null, null);
+
+        assertThrows(IOException.class, () -> scanner.scan(tempDir.resolve("missing")));
+    }
+
+    @Test
+    void testMatchesRootFileWithDoubleStarPattern() {
+        SpecScanner scanner = new SpecScanner(List.of("**/*.json"), List.of());
+
+        assertTrue(scanner.matches(Paths.get("api.json")));
+        assertTrue(scanner.matches(Paths.get("a/b/api.json")));
+        assertFalse(scanner.matches(Paths.get("api.yaml")));
+    }
+
+    private void touch(String relative) throws IOException {
+        Path file = tempDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "openapi: 3.0.1");
+    }
+}